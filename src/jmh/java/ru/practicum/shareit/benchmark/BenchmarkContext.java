@@ -0,0 +1,34 @@
+package ru.practicum.shareit.benchmark;
+
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import ru.practicum.shareit.ShareItApp;
+import ru.practicum.shareit.booking.interval.BookingIntervalIndexLoader;
+import ru.practicum.shareit.item.search.ItemSearchIndexLoader;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+public final class BenchmarkContext {
+    private BenchmarkContext() {
+    }
+
+    public static ConfigurableApplicationContext start(DatasetSpec spec) {
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(ShareItApp.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.datasource.url=jdbc:h2:mem:shareit-benchmark-" + System.nanoTime() + ";DB_CLOSE_DELAY=-1",
+                        "--logging.level.root=WARN");
+        try (Connection connection = context.getBean(DataSource.class).getConnection();
+             RowSink sink = new JdbcBatchRowSink(connection, spec.getBatchSize())) {
+            new BenchmarkDataGenerator(spec).generate(connection, sink);
+        } catch (SQLException e) {
+            context.close();
+            throw new IllegalStateException("Failed to load benchmark data", e);
+        }
+        context.getBean(ItemSearchIndexLoader.class).rebuildIndex();
+        context.getBean(BookingIntervalIndexLoader.class).rebuildIndex();
+        return context;
+    }
+}
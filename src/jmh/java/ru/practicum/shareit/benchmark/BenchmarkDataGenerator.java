@@ -0,0 +1,116 @@
+package ru.practicum.shareit.benchmark;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.Random;
+
+public class BenchmarkDataGenerator {
+    private static final int ALLOCATION_SIZE = 50;
+    private static final String[] NOUNS = {"drill", "ladder", "tent", "bike", "camera", "kayak", "saw", "projector",
+        "guitar", "scooter", "grill", "telescope"};
+    private static final String[] ADJECTIVES = {"cordless", "folding", "compact", "heavy", "electric", "vintage",
+        "portable", "waterproof"};
+
+    private final DatasetSpec spec;
+    private final Random random;
+
+    public BenchmarkDataGenerator(DatasetSpec spec) {
+        this.spec = spec;
+        this.random = new Random(spec.getSeed());
+    }
+
+    public void generate(Connection connection, RowSink sink) throws SQLException {
+        LocalDateTime now = spec.getEpoch();
+        int users = spec.getUsers();
+
+        for (long userId = 1; userId <= users; userId++) {
+            sink.write(DatasetTable.USERS, userId, "user" + userId, "user" + userId + "@bench.local");
+        }
+        sink.flush();
+
+        for (long requestId = 1; requestId <= spec.getRequests(); requestId++) {
+            sink.write(DatasetTable.REQUESTS, requestId, "need a " + noun(), randomUser(), now.minusHours(requestId));
+        }
+        sink.flush();
+
+        int[] itemsPerOwner = new ZipfDistribution(users, spec.getItemSkew()).counts(spec.getItems(), random);
+        long[] itemOwners = new long[spec.getItems()];
+        int itemId = 0;
+        for (int owner = 0; owner < users; owner++) {
+            for (int i = 0; i < itemsPerOwner[owner]; i++) {
+                itemId++;
+                itemOwners[itemId - 1] = owner + 1;
+                String noun = noun();
+                Long requestId = spec.getRequests() > 0 && itemId % 5 == 0 ? 1L + random.nextInt(spec.getRequests()) : null;
+                sink.write(DatasetTable.ITEMS, (long) itemId, noun + " " + itemId,
+                        ADJECTIVES[random.nextInt(ADJECTIVES.length)] + " " + noun, random.nextInt(10) > 0,
+                        (long) owner + 1, requestId);
+            }
+        }
+        sink.flush();
+
+        int[] bookingsPerItem = new ZipfDistribution(spec.getItems(), spec.getBookingSkew())
+                .counts(spec.getBookings(), random);
+        long bookingId = 0;
+        long commentId = 0;
+        for (int item = 0; item < spec.getItems(); item++) {
+            int count = bookingsPerItem[item];
+            LocalDateTime slot = now.minusDays(3L * (count / 2));
+            for (int b = 0; b < count; b++, slot = slot.plusDays(3)) {
+                bookingId++;
+                long bookerId = bookerFor(itemOwners[item]);
+                LocalDateTime start = slot.plusHours(random.nextInt(24));
+                LocalDateTime end = start.plusHours(1 + random.nextInt(47));
+                String status = status(end.isBefore(now));
+                sink.write(DatasetTable.BOOKINGS, bookingId, start, end, (long) item + 1, bookerId, status);
+                if (end.isBefore(now) && "APPROVED".equals(status) && random.nextDouble() < spec.getCommentDensity()) {
+                    commentId++;
+                    sink.write(DatasetTable.COMMENTS, commentId, "nice " + noun(), (long) item + 1, bookerId,
+                            end.plusHours(1));
+                }
+            }
+        }
+        sink.flush();
+
+        restartSequence(connection, DatasetTable.USERS, users);
+        restartSequence(connection, DatasetTable.REQUESTS, spec.getRequests());
+        restartSequence(connection, DatasetTable.ITEMS, itemId);
+        restartSequence(connection, DatasetTable.BOOKINGS, bookingId);
+        restartSequence(connection, DatasetTable.COMMENTS, commentId);
+    }
+
+    private String noun() {
+        return NOUNS[random.nextInt(NOUNS.length)];
+    }
+
+    private long randomUser() {
+        return 1L + random.nextInt(spec.getUsers());
+    }
+
+    private long bookerFor(long ownerId) {
+        if (spec.getUsers() == 1) {
+            return ownerId;
+        }
+        long bookerId = 1L + random.nextInt(spec.getUsers() - 1);
+        return bookerId >= ownerId ? bookerId + 1 : bookerId;
+    }
+
+    private String status(boolean past) {
+        int roll = random.nextInt(10);
+        if (roll == 0) {
+            return "REJECTED";
+        }
+        return past || roll > 3 ? "APPROVED" : "WAITING";
+    }
+
+    private static void restartSequence(Connection connection, DatasetTable table, long lastId) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("ALTER SEQUENCE " + table.getSequenceName() + " RESTART WITH " + (lastId + ALLOCATION_SIZE));
+        }
+        if (!connection.getAutoCommit()) {
+            connection.commit();
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package ru.practicum.shareit.benchmark;
+
+import org.flywaydb.core.Flyway;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+
+public final class DatasetLoader {
+    private DatasetLoader() {
+    }
+
+    public static void main(String[] args) throws SQLException {
+        String url = System.getProperty("dataset.url", "jdbc:h2:file:./db/shareit-dataset");
+        String username = System.getProperty("dataset.username", "sa");
+        String password = System.getProperty("dataset.password", "");
+        boolean postgres = url.startsWith("jdbc:postgresql:");
+        DatasetSpec spec = DatasetSpec.builder()
+                .seed(Long.getLong("dataset.seed", 42))
+                .epoch(LocalDateTime.parse(System.getProperty("dataset.epoch", "2024-01-01T00:00")))
+                .users(Integer.getInteger("dataset.users", 10_000))
+                .items(Integer.getInteger("dataset.items", 50_000))
+                .bookings(Integer.getInteger("dataset.bookings", 500_000))
+                .requests(Integer.getInteger("dataset.requests", 10_000))
+                .itemSkew(Double.parseDouble(System.getProperty("dataset.item-skew", "1.0")))
+                .bookingSkew(Double.parseDouble(System.getProperty("dataset.booking-skew", "1.0")))
+                .commentDensity(Double.parseDouble(System.getProperty("dataset.comment-density", "0.3")))
+                .batchSize(Integer.getInteger("dataset.batch-size", postgres ? 10_000 : 1000))
+                .build();
+
+        Flyway.configure()
+                .dataSource(url, username, password)
+                .locations("classpath:db/migration/common", "classpath:db/migration/" + (postgres ? "postgresql" : "h2"))
+                .load()
+                .migrate();
+
+        long started = System.nanoTime();
+        try (Connection connection = DriverManager.getConnection(url, username, password);
+             RowSink sink = postgres && Boolean.parseBoolean(System.getProperty("dataset.copy", "true"))
+                     ? new PostgresCopyRowSink(connection, spec.getBatchSize())
+                     : new JdbcBatchRowSink(connection, spec.getBatchSize())) {
+            new BenchmarkDataGenerator(spec).generate(connection, sink);
+        }
+        System.out.printf("Loaded %s into %s in %d ms%n", spec, url, (System.nanoTime() - started) / 1_000_000);
+    }
+}
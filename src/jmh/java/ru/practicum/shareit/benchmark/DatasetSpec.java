@@ -0,0 +1,31 @@
+package ru.practicum.shareit.benchmark;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.LocalDateTime;
+
+@Value
+@Builder
+public class DatasetSpec {
+    @Builder.Default
+    long seed = 42;
+    @Builder.Default
+    LocalDateTime epoch = LocalDateTime.of(2024, 1, 1, 0, 0);
+    @Builder.Default
+    int users = 1000;
+    @Builder.Default
+    int items = 5000;
+    @Builder.Default
+    int bookings = 50000;
+    @Builder.Default
+    int requests = 1000;
+    @Builder.Default
+    double itemSkew = 1.0;
+    @Builder.Default
+    double bookingSkew = 1.0;
+    @Builder.Default
+    double commentDensity = 0.3;
+    @Builder.Default
+    int batchSize = 1000;
+}
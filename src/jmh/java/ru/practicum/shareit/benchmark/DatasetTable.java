@@ -0,0 +1,33 @@
+package ru.practicum.shareit.benchmark;
+
+public enum DatasetTable {
+    USERS("users", "id", "name", "email"),
+    REQUESTS("requests", "id", "description", "requester_id", "created"),
+    ITEMS("items", "id", "name", "description", "available", "owner_id", "request_id"),
+    BOOKINGS("bookings", "id", "start_time", "end_time", "item_id", "booker_id", "status"),
+    COMMENTS("comments", "id", "text", "item_id", "author_id", "created");
+
+    private final String tableName;
+    private final String[] columns;
+
+    DatasetTable(String tableName, String... columns) {
+        this.tableName = tableName;
+        this.columns = columns;
+    }
+
+    public String getTableName() {
+        return tableName;
+    }
+
+    public String getSequenceName() {
+        return tableName + "_seq";
+    }
+
+    public String[] getColumns() {
+        return columns;
+    }
+
+    public String columnList() {
+        return String.join(", ", columns);
+    }
+}
@@ -0,0 +1,66 @@
+package ru.practicum.shareit.benchmark;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+
+public class JdbcBatchRowSink implements RowSink {
+    private final Connection connection;
+    private final int batchSize;
+    private final Map<DatasetTable, PreparedStatement> statements = new EnumMap<>(DatasetTable.class);
+    private final Map<DatasetTable, Integer> pending = new EnumMap<>(DatasetTable.class);
+
+    public JdbcBatchRowSink(Connection connection, int batchSize) throws SQLException {
+        this.connection = connection;
+        this.batchSize = batchSize;
+        connection.setAutoCommit(false);
+    }
+
+    @Override
+    public void write(DatasetTable table, Object... values) throws SQLException {
+        PreparedStatement statement = statements.get(table);
+        if (statement == null) {
+            String placeholders = String.join(", ", Collections.nCopies(table.getColumns().length, "?"));
+            statement = connection.prepareStatement("insert into " + table.getTableName()
+                    + " (" + table.columnList() + ") values (" + placeholders + ")");
+            statements.put(table, statement);
+        }
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] == null) {
+                statement.setNull(i + 1, Types.BIGINT);
+            } else {
+                statement.setObject(i + 1, values[i]);
+            }
+        }
+        statement.addBatch();
+        int rows = pending.merge(table, 1, Integer::sum);
+        if (rows >= batchSize) {
+            statement.executeBatch();
+            connection.commit();
+            pending.put(table, 0);
+        }
+    }
+
+    @Override
+    public void flush() throws SQLException {
+        for (Map.Entry<DatasetTable, PreparedStatement> entry : statements.entrySet()) {
+            if (pending.getOrDefault(entry.getKey(), 0) > 0) {
+                entry.getValue().executeBatch();
+                pending.put(entry.getKey(), 0);
+            }
+        }
+        connection.commit();
+    }
+
+    @Override
+    public void close() throws SQLException {
+        flush();
+        for (PreparedStatement statement : statements.values()) {
+            statement.close();
+        }
+    }
+}
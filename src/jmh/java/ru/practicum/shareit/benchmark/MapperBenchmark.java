@@ -0,0 +1,113 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.booking.dto.BookingMapper;
+import ru.practicum.shareit.booking.dto.BookingOutputDto;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.CommentMapper;
+import ru.practicum.shareit.item.dto.ItemMapper;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class MapperBenchmark {
+    @Param({"10", "100", "1000"})
+    private int size;
+
+    private List<Item> items;
+    private List<Booking> bookings;
+    private List<Comment> comments;
+    private Map<Long, List<Booking>> lastNextBookings;
+
+    @Setup
+    public void setUp() {
+        LocalDateTime now = LocalDateTime.now();
+        User owner = new User(1L, "owner", "owner@bench.local");
+        User booker = new User(2L, "booker", "booker@bench.local");
+        items = new ArrayList<>();
+        bookings = new ArrayList<>();
+        comments = new ArrayList<>();
+        lastNextBookings = new HashMap<>();
+        for (long i = 1; i <= size; i++) {
+            Item item = new Item();
+            item.setId(i);
+            item.setName("drill " + i);
+            item.setDescription("cordless drill");
+            item.setAvailable(true);
+            item.setOwner(owner);
+            items.add(item);
+
+            Booking last = booking(i * 2, item, booker, now.minusDays(2), now.minusDays(1));
+            Booking next = booking(i * 2 + 1, item, booker, now.plusDays(1), now.plusDays(2));
+            bookings.add(last);
+            bookings.add(next);
+            List<Booking> pair = new ArrayList<>();
+            pair.add(last);
+            pair.add(next);
+            lastNextBookings.put(i, pair);
+
+            Comment comment = new Comment();
+            comment.setId(i);
+            comment.setText("nice drill");
+            comment.setItem(item);
+            comment.setAuthor(booker);
+            comment.setCreated(now);
+            comments.add(comment);
+        }
+    }
+
+    @Benchmark
+    public List<BookingOutputDto> bookingOutputDtoList() {
+        return BookingMapper.toBookingOutputDtoList(bookings);
+    }
+
+    @Benchmark
+    public Map<Long, List<CommentDto>> commentsByItemId() {
+        return CommentMapper.toDtoMapByItemId(comments);
+    }
+
+    @Benchmark
+    public void ownerItemDtos(Blackhole blackhole) {
+        Map<Long, List<CommentDto>> commentsByItemId = CommentMapper.toDtoMapByItemId(comments);
+        for (Item item : items) {
+            blackhole.consume(ItemMapper.toOwnerItemDto(item, lastNextBookings, commentsByItemId));
+        }
+    }
+
+    private static Booking booking(long id, Item item, User booker, LocalDateTime start, LocalDateTime end) {
+        Booking booking = new Booking();
+        booking.setId(id);
+        booking.setItem(item);
+        booking.setBooker(booker);
+        booking.setStart(start);
+        booking.setEnd(end);
+        booking.setStatus(BookingStatus.APPROVED);
+        return booking;
+    }
+}
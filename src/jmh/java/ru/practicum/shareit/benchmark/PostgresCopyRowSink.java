@@ -0,0 +1,76 @@
+package ru.practicum.shareit.benchmark;
+
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyManager;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.EnumMap;
+import java.util.Map;
+
+public class PostgresCopyRowSink implements RowSink {
+    private final CopyManager copyManager;
+    private final int batchSize;
+    private final Map<DatasetTable, StringBuilder> buffers = new EnumMap<>(DatasetTable.class);
+    private final Map<DatasetTable, Integer> pending = new EnumMap<>(DatasetTable.class);
+
+    public PostgresCopyRowSink(Connection connection, int batchSize) throws SQLException {
+        this.copyManager = connection.unwrap(PGConnection.class).getCopyAPI();
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public void write(DatasetTable table, Object... values) throws SQLException {
+        StringBuilder buffer = buffers.computeIfAbsent(table, t -> new StringBuilder());
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                buffer.append(',');
+            }
+            appendCsv(buffer, values[i]);
+        }
+        buffer.append('\n');
+        if (pending.merge(table, 1, Integer::sum) >= batchSize) {
+            copy(table);
+        }
+    }
+
+    @Override
+    public void flush() throws SQLException {
+        for (DatasetTable table : buffers.keySet()) {
+            copy(table);
+        }
+    }
+
+    @Override
+    public void close() throws SQLException {
+        flush();
+    }
+
+    private void copy(DatasetTable table) throws SQLException {
+        StringBuilder buffer = buffers.get(table);
+        if (buffer.length() == 0) {
+            return;
+        }
+        try {
+            copyManager.copyIn("COPY " + table.getTableName() + " (" + table.columnList() + ") FROM STDIN WITH (FORMAT csv)",
+                    new StringReader(buffer.toString()));
+        } catch (IOException e) {
+            throw new SQLException("Failed to copy rows into " + table.getTableName(), e);
+        }
+        buffer.setLength(0);
+        pending.put(table, 0);
+    }
+
+    private static void appendCsv(StringBuilder buffer, Object value) {
+        if (value == null) {
+            return;
+        }
+        if (value instanceof String) {
+            buffer.append('"').append(((String) value).replace("\"", "\"\"")).append('"');
+        } else {
+            buffer.append(value);
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package ru.practicum.shareit.benchmark;
+
+import java.sql.SQLException;
+
+public interface RowSink extends AutoCloseable {
+    void write(DatasetTable table, Object... values) throws SQLException;
+
+    void flush() throws SQLException;
+
+    @Override
+    void close() throws SQLException;
+}
@@ -0,0 +1,107 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import ru.practicum.shareit.booking.BookingState;
+import ru.practicum.shareit.booking.dto.BookingOutputDto;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.item.ItemSearchSort;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.request.dto.ItemRequestDto;
+import ru.practicum.shareit.request.service.ItemRequestService;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ServiceBenchmark {
+    @Param({"100", "1000"})
+    private int users;
+
+    @Param({"1.0"})
+    private double skew;
+
+    private ConfigurableApplicationContext context;
+    private ItemService itemService;
+    private BookingService bookingService;
+    private ItemRequestService itemRequestService;
+    private long nextUser;
+
+    @State(Scope.Thread)
+    public static class SearchSort {
+        @Param({"ID", "RELEVANCE"})
+        private ItemSearchSort sort;
+    }
+
+    @State(Scope.Thread)
+    public static class BookingFilter {
+        @Param({"ALL", "CURRENT", "PAST", "FUTURE"})
+        private BookingState state;
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start(DatasetSpec.builder()
+                .epoch(LocalDateTime.now().truncatedTo(ChronoUnit.DAYS))
+                .users(users)
+                .items(users * 5)
+                .bookings(users * 50)
+                .requests(users)
+                .itemSkew(skew)
+                .bookingSkew(skew)
+                .build());
+        itemService = context.getBean(ItemService.class);
+        bookingService = context.getBean(BookingService.class);
+        itemRequestService = context.getBean(ItemRequestService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<ItemDto> searchItems(SearchSort searchSort) {
+        return itemService.searchItems("drill", 0, 20, searchSort.sort);
+    }
+
+    @Benchmark
+    public List<ItemDto> getAllItems() {
+        return itemService.getAllItems(nextUserId(), 0, 20);
+    }
+
+    @Benchmark
+    public List<BookingOutputDto> getAllUsersBookings(BookingFilter filter) {
+        return bookingService.getAllUsersBookings(nextUserId(), filter.state, 0, 20);
+    }
+
+    @Benchmark
+    public List<ItemRequestDto> getAllRequests() {
+        return itemRequestService.getAllRequests(nextUserId(), 0, 20);
+    }
+
+    private long nextUserId() {
+        nextUser = nextUser % users + 1;
+        return nextUser;
+    }
+}
@@ -0,0 +1,34 @@
+package ru.practicum.shareit.benchmark;
+
+import java.util.Arrays;
+import java.util.Random;
+
+public class ZipfDistribution {
+    private final double[] cumulative;
+
+    public ZipfDistribution(int size, double skew) {
+        if (size <= 0) {
+            throw new IllegalArgumentException("Distribution size must be positive");
+        }
+        cumulative = new double[size];
+        double total = 0;
+        for (int rank = 1; rank <= size; rank++) {
+            total += 1 / Math.pow(rank, skew);
+            cumulative[rank - 1] = total;
+        }
+    }
+
+    public int sample(Random random) {
+        double value = random.nextDouble() * cumulative[cumulative.length - 1];
+        int index = Arrays.binarySearch(cumulative, value);
+        return index >= 0 ? index : -index - 1;
+    }
+
+    public int[] counts(int samples, Random random) {
+        int[] counts = new int[cumulative.length];
+        for (int i = 0; i < samples; i++) {
+            counts[sample(random)]++;
+        }
+        return counts;
+    }
+}
@@ -1,7 +1,11 @@
 package ru.practicum.shareit.booking;
 
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import ru.practicum.shareit.booking.dto.BookingBatchResponseDto;
 import ru.practicum.shareit.booking.dto.BookingInputDto;
 import ru.practicum.shareit.booking.dto.BookingOutputDto;
 import ru.practicum.shareit.booking.service.BookingService;
@@ -10,8 +14,10 @@ import javax.validation.Valid;
 import java.util.List;
 
 @RestController
+@Timed
 @RequestMapping(path = "/bookings")
 public class BookingController {
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
 
     private final BookingService bookingService;
 
@@ -26,6 +32,17 @@ public class BookingController {
         return bookingService.addBooking(bookingInputDto, userId);
     }
 
+    @PostMapping("/batch")
+    public BookingBatchResponseDto addBookings(@RequestBody List<BookingInputDto> bookingInputDtos,
+                                               @RequestHeader("X-Sharer-User-Id") long userId) {
+        return bookingService.addBookings(bookingInputDtos, userId);
+    }
+
+    @GetMapping("/stream")
+    public SseEmitter streamStatusChanges(@RequestHeader("X-Sharer-User-Id") Long userId) {
+        return bookingService.subscribe(userId);
+    }
+
     @PatchMapping("/{bookingId}")
     public BookingOutputDto editBooking(@RequestHeader("X-Sharer-User-Id") Long userId,
                                         @PathVariable Long bookingId,
@@ -40,14 +57,30 @@ public class BookingController {
     }
 
     @GetMapping
-    public List<BookingOutputDto> getAllUsersBookings(@RequestHeader("X-Sharer-User-Id") Long userId, @RequestParam(defaultValue = "ALL") BookingState state, @RequestParam(defaultValue = "0") Integer from,
-                                                      @RequestParam(defaultValue = "10") Integer size) {
-        return bookingService.getAllUsersBookings(userId, state, from, size);
+    public ResponseEntity<List<BookingOutputDto>> getAllUsersBookings(@RequestHeader("X-Sharer-User-Id") Long userId, @RequestParam(defaultValue = "ALL") BookingState state, @RequestParam(defaultValue = "0") Integer from,
+                                                                      @RequestParam(defaultValue = "10") Integer size,
+                                                                      @RequestParam(required = false) String cursor) {
+        List<BookingOutputDto> bookings = cursor == null
+                ? bookingService.getAllUsersBookings(userId, state, from, size)
+                : bookingService.getAllUsersBookingsAfter(userId, state, cursor, size);
+        return withNextCursor(bookings, size);
     }
 
     @GetMapping("/owner")
-    public List<BookingOutputDto> getAllUsersItemsBookings(@RequestHeader("X-Sharer-User-Id") Long userId, @RequestParam(defaultValue = "ALL") BookingState state, @RequestParam(defaultValue = "0") Integer from,
-                                                           @RequestParam(defaultValue = "10") Integer size) {
-        return bookingService.getAllUsersItemsBookings(userId, state, from, size);
+    public ResponseEntity<List<BookingOutputDto>> getAllUsersItemsBookings(@RequestHeader("X-Sharer-User-Id") Long userId, @RequestParam(defaultValue = "ALL") BookingState state, @RequestParam(defaultValue = "0") Integer from,
+                                                                           @RequestParam(defaultValue = "10") Integer size,
+                                                                           @RequestParam(required = false) String cursor) {
+        List<BookingOutputDto> bookings = cursor == null
+                ? bookingService.getAllUsersItemsBookings(userId, state, from, size)
+                : bookingService.getAllUsersItemsBookingsAfter(userId, state, cursor, size);
+        return withNextCursor(bookings, size);
+    }
+
+    private ResponseEntity<List<BookingOutputDto>> withNextCursor(List<BookingOutputDto> bookings, Integer size) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (!bookings.isEmpty() && bookings.size() == size) {
+            response.header(NEXT_CURSOR_HEADER, BookingCursor.of(bookings.get(bookings.size() - 1)).encode());
+        }
+        return response.body(bookings);
     }
 }
@@ -6,5 +6,6 @@ public enum BookingState {
     PAST,
     FUTURE,
     WAITING,
-    REJECTED
+    REJECTED,
+    EXPIRED
 }
@@ -0,0 +1,12 @@
+package ru.practicum.shareit.booking.dto;
+
+import lombok.Value;
+
+import java.util.List;
+
+@Value
+public class BookingBatchResponseDto {
+    int created;
+    int failed;
+    List<BookingBatchResultDto> results;
+}
@@ -0,0 +1,18 @@
+package ru.practicum.shareit.booking.dto;
+
+import lombok.Value;
+
+@Value
+public class BookingBatchResultDto {
+    int index;
+    BookingOutputDto booking;
+    String error;
+
+    public static BookingBatchResultDto created(int index, BookingOutputDto booking) {
+        return new BookingBatchResultDto(index, booking, null);
+    }
+
+    public static BookingBatchResultDto failed(int index, String error) {
+        return new BookingBatchResultDto(index, null, error);
+    }
+}
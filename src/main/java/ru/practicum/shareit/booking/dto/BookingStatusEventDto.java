@@ -0,0 +1,15 @@
+package ru.practicum.shareit.booking.dto;
+
+import lombok.Value;
+import ru.practicum.shareit.booking.BookingStatus;
+
+import java.time.LocalDateTime;
+
+@Value
+public class BookingStatusEventDto {
+    Long bookingId;
+    Long itemId;
+    BookingStatus status;
+    LocalDateTime start;
+    LocalDateTime end;
+}
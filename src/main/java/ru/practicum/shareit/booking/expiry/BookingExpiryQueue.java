@@ -0,0 +1,89 @@
+package ru.practicum.shareit.booking.expiry;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.booking.model.Booking;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.TimeUnit;
+
+@Component
+public class BookingExpiryQueue {
+    private final boolean enabled;
+    private final Duration ttl;
+    private final DelayQueue<ExpiringBooking> queue = new DelayQueue<>();
+
+    public BookingExpiryQueue(@Value("${shareit.booking.expiry.enabled:true}") boolean enabled,
+                              @Value("${shareit.booking.expiry.ttl:0s}") Duration ttl) {
+        this.enabled = enabled;
+        this.ttl = ttl;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void schedule(Booking booking) {
+        if (enabled && booking.getStatus() == BookingStatus.WAITING) {
+            queue.offer(new ExpiringBooking(booking.getId(), toEpochMillis(deadline(booking))));
+        }
+    }
+
+    public void retry(Collection<Long> bookingIds, Duration delay) {
+        long deadline = System.currentTimeMillis() + delay.toMillis();
+        bookingIds.forEach(bookingId -> queue.offer(new ExpiringBooking(bookingId, deadline)));
+    }
+
+    public List<Long> takeExpired(int maxBatch) throws InterruptedException {
+        List<ExpiringBooking> batch = new ArrayList<>();
+        batch.add(queue.take());
+        queue.drainTo(batch, maxBatch - 1);
+        List<Long> bookingIds = new ArrayList<>(batch.size());
+        batch.forEach(expiring -> bookingIds.add(expiring.bookingId));
+        return bookingIds;
+    }
+
+    public int size() {
+        return queue.size();
+    }
+
+    LocalDateTime deadline(Booking booking) {
+        if (ttl.isZero() || ttl.isNegative() || booking.getCreated() == null) {
+            return booking.getStart();
+        }
+        LocalDateTime answerBy = booking.getCreated().plus(ttl);
+        return answerBy.isBefore(booking.getStart()) ? answerBy : booking.getStart();
+    }
+
+    private static long toEpochMillis(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private static final class ExpiringBooking implements Delayed {
+        private final long bookingId;
+        private final long deadline;
+
+        private ExpiringBooking(long bookingId, long deadline) {
+            this.bookingId = bookingId;
+            this.deadline = deadline;
+        }
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(deadline - System.currentTimeMillis(), TimeUnit.MILLISECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            return Long.compare(deadline, ((ExpiringBooking) other).deadline);
+        }
+    }
+}
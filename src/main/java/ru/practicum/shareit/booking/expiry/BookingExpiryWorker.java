@@ -0,0 +1,86 @@
+package ru.practicum.shareit.booking.expiry;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.service.BookingService;
+
+import java.time.Duration;
+import java.util.List;
+
+@Slf4j
+@Component
+public class BookingExpiryWorker implements DisposableBean {
+    private static final int LOAD_BATCH_SIZE = 1000;
+    private static final Duration RETRY_DELAY = Duration.ofSeconds(30);
+
+    private final BookingExpiryQueue expiryQueue;
+    private final BookingService bookingService;
+    private final BookingRepository bookingRepository;
+    private final int batchSize;
+    private Thread worker;
+
+    public BookingExpiryWorker(BookingExpiryQueue expiryQueue, BookingService bookingService,
+                               BookingRepository bookingRepository,
+                               @Value("${shareit.booking.expiry.batch-size:100}") int batchSize) {
+        this.expiryQueue = expiryQueue;
+        this.bookingService = bookingService;
+        this.bookingRepository = bookingRepository;
+        this.batchSize = batchSize;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void start() {
+        if (!expiryQueue.isEnabled() || worker != null) {
+            return;
+        }
+        Pageable page = PageRequest.of(0, LOAD_BATCH_SIZE, Sort.by("id"));
+        Slice<Booking> bookings;
+        do {
+            bookings = bookingRepository.findAllByStatus(BookingStatus.WAITING, page);
+            bookings.forEach(expiryQueue::schedule);
+            page = bookings.nextPageable();
+        } while (bookings.hasNext());
+        log.info("Booking expiry queue warmed with {} waiting bookings", expiryQueue.size());
+        worker = new Thread(this::run, "booking-expiry");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    @Override
+    public synchronized void destroy() {
+        if (worker != null) {
+            worker.interrupt();
+            worker = null;
+        }
+    }
+
+    private void run() {
+        while (!Thread.currentThread().isInterrupted()) {
+            List<Long> bookingIds;
+            try {
+                bookingIds = expiryQueue.takeExpired(batchSize);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            try {
+                int expired = bookingService.expireBookings(bookingIds);
+                log.info("Expired {} of {} due waiting bookings", expired, bookingIds.size());
+            } catch (RuntimeException e) {
+                log.warn("Failed to expire {} bookings, retrying in {}", bookingIds.size(), RETRY_DELAY, e);
+                expiryQueue.retry(bookingIds, RETRY_DELAY);
+            }
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package ru.practicum.shareit.booking.interval;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.booking.model.Booking;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+@Slf4j
+@Component
+public class BookingIntervalIndex {
+    private volatile IndexData data = new IndexData();
+    private List<Consumer<IndexData>> pendingUpdates;
+    private final Object lock = new Object();
+    private volatile boolean ready;
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public boolean overlaps(long itemId, LocalDateTime start, LocalDateTime end) {
+        ItemIntervals itemIntervals = data.intervals.get(itemId);
+        return itemIntervals != null && itemIntervals.overlaps(toEpochMilli(start), toEpochMilli(end));
+    }
+
+    public void add(Booking booking) {
+        update(indexData -> indexData.add(booking));
+    }
+
+    public void remove(long bookingId) {
+        update(indexData -> indexData.remove(bookingId));
+    }
+
+    public void removeEndedBefore(LocalDateTime cutoff) {
+        long cutoffMilli = toEpochMilli(cutoff);
+        update(indexData -> indexData.intervals.keySet()
+                .forEach(itemId -> indexData.removeEndedBefore(itemId, cutoffMilli)));
+    }
+
+    public void rebuild(Consumer<Consumer<Booking>> source) {
+        synchronized (lock) {
+            pendingUpdates = new ArrayList<>();
+            ready = false;
+        }
+        IndexData rebuilt = new IndexData();
+        source.accept(rebuilt::add);
+        synchronized (lock) {
+            pendingUpdates.forEach(update -> update.accept(rebuilt));
+            pendingUpdates = null;
+            data = rebuilt;
+            ready = true;
+            log.info("Booking interval index rebuilt: {} bookings for {} items", rebuilt.bookingItems.size(), rebuilt.intervals.size());
+        }
+    }
+
+    private void update(Consumer<IndexData> update) {
+        IndexData current;
+        synchronized (lock) {
+            if (pendingUpdates != null) {
+                pendingUpdates.add(update);
+            }
+            current = data;
+        }
+        update.accept(current);
+    }
+
+    private static long toEpochMilli(LocalDateTime dateTime) {
+        return dateTime.toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+
+    private static final class IndexData {
+        private final Map<Long, ItemIntervals> intervals = new ConcurrentHashMap<>();
+        private final Map<Long, Long> bookingItems = new ConcurrentHashMap<>();
+
+        private void add(Booking booking) {
+            long itemId = booking.getItem().getId();
+            bookingItems.put(booking.getId(), itemId);
+            intervals.computeIfAbsent(itemId, key -> new ItemIntervals())
+                    .add(booking.getId(), toEpochMilli(booking.getStart()), toEpochMilli(booking.getEnd()));
+            removeEndedBefore(itemId, toEpochMilli(LocalDateTime.now()));
+        }
+
+        private void removeEndedBefore(long itemId, long cutoff) {
+            intervals.computeIfPresent(itemId, (key, itemIntervals) -> {
+                for (long bookingId : itemIntervals.removeEndedBefore(cutoff)) {
+                    bookingItems.remove(bookingId);
+                }
+                return itemIntervals.isEmpty() ? null : itemIntervals;
+            });
+        }
+
+        private void remove(long bookingId) {
+            Long itemId = bookingItems.remove(bookingId);
+            if (itemId == null) {
+                return;
+            }
+            intervals.computeIfPresent(itemId, (key, itemIntervals) -> {
+                itemIntervals.remove(bookingId);
+                return itemIntervals.isEmpty() ? null : itemIntervals;
+            });
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package ru.practicum.shareit.booking.interval;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Consumer;
+
+@Component
+@EnableScheduling
+@RequiredArgsConstructor
+public class BookingIntervalIndexLoader {
+    private static final int BATCH_SIZE = 1000;
+
+    private final BookingRepository bookingRepository;
+    private final BookingIntervalIndex intervalIndex;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildIndex() {
+        intervalIndex.rebuild(this::forEachActiveBooking);
+    }
+
+    @Scheduled(initialDelayString = "${shareit.booking.interval.prune-interval:3600000}",
+            fixedDelayString = "${shareit.booking.interval.prune-interval:3600000}")
+    public void removeEndedBookings() {
+        intervalIndex.removeEndedBefore(LocalDateTime.now());
+    }
+
+    private void forEachActiveBooking(Consumer<Booking> consumer) {
+        LocalDateTime now = LocalDateTime.now();
+        List<BookingStatus> statuses = List.of(BookingStatus.WAITING, BookingStatus.APPROVED);
+        Pageable page = PageRequest.of(0, BATCH_SIZE, Sort.by("id"));
+        Slice<Booking> bookings;
+        do {
+            bookings = bookingRepository.findAllByStatusInAndEndIsAfter(statuses, now, page);
+            bookings.forEach(consumer);
+            page = bookings.nextPageable();
+        } while (bookings.hasNext());
+    }
+}
@@ -0,0 +1,97 @@
+package ru.practicum.shareit.booking.interval;
+
+import java.util.Arrays;
+
+class ItemIntervals {
+    private static final int INITIAL_CAPACITY = 4;
+
+    private long[] starts = new long[INITIAL_CAPACITY];
+    private long[] ends = new long[INITIAL_CAPACITY];
+    private long[] bookingIds = new long[INITIAL_CAPACITY];
+    private long[] prefixMaxEnds = new long[INITIAL_CAPACITY];
+    private int size;
+
+    synchronized boolean overlaps(long start, long end) {
+        int startingBeforeEnd = lowerBound(end);
+        return startingBeforeEnd > 0 && prefixMaxEnds[startingBeforeEnd - 1] > start;
+    }
+
+    synchronized void add(long bookingId, long start, long end) {
+        if (size == starts.length) {
+            int capacity = size * 2;
+            starts = Arrays.copyOf(starts, capacity);
+            ends = Arrays.copyOf(ends, capacity);
+            bookingIds = Arrays.copyOf(bookingIds, capacity);
+            prefixMaxEnds = Arrays.copyOf(prefixMaxEnds, capacity);
+        }
+        int position = lowerBound(start + 1);
+        System.arraycopy(starts, position, starts, position + 1, size - position);
+        System.arraycopy(ends, position, ends, position + 1, size - position);
+        System.arraycopy(bookingIds, position, bookingIds, position + 1, size - position);
+        starts[position] = start;
+        ends[position] = end;
+        bookingIds[position] = bookingId;
+        size++;
+        updatePrefixMaxEnds(position);
+    }
+
+    synchronized void remove(long bookingId) {
+        for (int position = 0; position < size; position++) {
+            if (bookingIds[position] == bookingId) {
+                System.arraycopy(starts, position + 1, starts, position, size - position - 1);
+                System.arraycopy(ends, position + 1, ends, position, size - position - 1);
+                System.arraycopy(bookingIds, position + 1, bookingIds, position, size - position - 1);
+                size--;
+                updatePrefixMaxEnds(position);
+                return;
+            }
+        }
+    }
+
+    synchronized long[] removeEndedBefore(long cutoff) {
+        long[] removed = new long[size];
+        int removedCount = 0;
+        int kept = 0;
+        for (int position = 0; position < size; position++) {
+            if (ends[position] <= cutoff) {
+                removed[removedCount++] = bookingIds[position];
+                continue;
+            }
+            starts[kept] = starts[position];
+            ends[kept] = ends[position];
+            bookingIds[kept] = bookingIds[position];
+            kept++;
+        }
+        if (removedCount > 0) {
+            size = kept;
+            updatePrefixMaxEnds(0);
+        }
+        return Arrays.copyOf(removed, removedCount);
+    }
+
+    synchronized boolean isEmpty() {
+        return size == 0;
+    }
+
+    private int lowerBound(long start) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (starts[middle] < start) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private void updatePrefixMaxEnds(int from) {
+        long maxEnd = from == 0 ? Long.MIN_VALUE : prefixMaxEnds[from - 1];
+        for (int position = from; position < size; position++) {
+            maxEnd = Math.max(maxEnd, ends[position]);
+            prefixMaxEnds[position] = maxEnd;
+        }
+    }
+}
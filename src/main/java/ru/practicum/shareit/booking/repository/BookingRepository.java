@@ -1,67 +1,185 @@
 package ru.practicum.shareit.booking.repository;
 
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import ru.practicum.shareit.booking.BookingStatus;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.item.model.Item;
 
+import javax.persistence.LockModeType;
+
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 public interface BookingRepository extends JpaRepository<Booking, Long> {
 
-    List<Booking> findAllByBookerIdOrderByStartDesc(Long userId, Pageable page);
+    @EntityGraph(attributePaths = {"item", "booker"})
+    @Query("select b from Booking b where b.booker.id = ?1 order by b.start desc, b.id desc")
+    List<Booking> findAllByBookerIdOrderByStartDescIdDesc(Long userId, Pageable page);
 
-    List<Booking> findAllByBookerIdAndEndIsAfterAndStartIsBeforeOrderByStartDesc(Long userId,
+    @EntityGraph(attributePaths = {"item", "booker"})
+    @Query("select b from Booking b where b.booker.id = ?1 and b.end > ?2 and b.start < ?3 " +
+            "order by b.start desc, b.id desc")
+    List<Booking> findAllByBookerIdAndEndIsAfterAndStartIsBeforeOrderByStartDescIdDesc(Long userId,
                                                                                  LocalDateTime endDateTime,
                                                                                  LocalDateTime startDateTime, Pageable page);
 
-    List<Booking> findAllByBookerIdAndEndIsBeforeOrderByStartDesc(Long userId, LocalDateTime endDateTime, Pageable page);
+    @EntityGraph(attributePaths = {"item", "booker"})
+    @Query("select b from Booking b where b.booker.id = ?1 and b.end < ?2 order by b.start desc, b.id desc")
+    List<Booking> findAllByBookerIdAndEndIsBeforeOrderByStartDescIdDesc(Long userId, LocalDateTime endDateTime, Pageable page);
 
-    List<Booking> findAllByBookerIdAndStartIsAfterOrderByStartDesc(Long userId,
+    @EntityGraph(attributePaths = {"item", "booker"})
+    @Query("select b from Booking b where b.booker.id = ?1 and b.start > ?2 order by b.start desc, b.id desc")
+    List<Booking> findAllByBookerIdAndStartIsAfterOrderByStartDescIdDesc(Long userId,
                                                                    LocalDateTime startDateTime, Pageable page);
 
-    List<Booking> findAllByBookerIdAndStartIsAfterAndStatusIsOrderByStartDesc(Long userId,
+    @EntityGraph(attributePaths = {"item", "booker"})
+    @Query("select b from Booking b where b.booker.id = ?1 and b.start > ?2 and b.status = ?3 " +
+            "order by b.start desc, b.id desc")
+    List<Booking> findAllByBookerIdAndStartIsAfterAndStatusIsOrderByStartDescIdDesc(Long userId,
                                                                               LocalDateTime startDateTime,
                                                                               BookingStatus bookingStatus, Pageable page);
 
-    List<Booking> findAllByBookerIdAndStatusIsOrderByStartDesc(Long userId, BookingStatus status, Pageable page);
+    @EntityGraph(attributePaths = {"item", "booker"})
+    @Query("select b from Booking b where b.booker.id = ?1 and b.status = ?2 order by b.start desc, b.id desc")
+    List<Booking> findAllByBookerIdAndStatusIsOrderByStartDescIdDesc(Long userId, BookingStatus status, Pageable page);
 
-    @Query("select b from Booking b Inner join Item i on b.item.id = i.id where i.owner.id = ?1 order by b.start desc")
+    @EntityGraph(attributePaths = {"item", "booker"})
+    @Query("select b from Booking b where b.item.id in (select i.id from Item i where i.owner.id = ?1) order by b.start desc, b.id desc")
     List<Booking> getAllUsersItemsBookings(Long userId, Pageable page);
 
-    @Query("select b from Booking b Inner join Item i on b.item.id = i.id where i.owner.id = ?1 " +
-            "and b.start > ?2 and b.status = ?3 order by b.start desc")
+    @EntityGraph(attributePaths = {"item", "booker"})
+    @Query("select b from Booking b where b.item.id in (select i.id from Item i where i.owner.id = ?1) " +
+            "and b.start > ?2 and b.status = ?3 order by b.start desc, b.id desc")
     List<Booking> getAllWaitingUsersItemsBookings(Long userId, LocalDateTime startDateTime, BookingStatus bookingStatus, Pageable page);
 
-    @Query("select b from Booking b Inner join Item i on b.item.id = i.id where i.owner.id = ?1 " +
-            "and b.status = ?2 order by b.start desc")
-    List<Booking> getAllRejectedUsersItemsBookings(Long userId, BookingStatus bookingStatus, Pageable page);
+    @EntityGraph(attributePaths = {"item", "booker"})
+    @Query("select b from Booking b where b.item.id in (select i.id from Item i where i.owner.id = ?1) " +
+            "and b.status = ?2 order by b.start desc, b.id desc")
+    List<Booking> getAllUsersItemsBookingsByStatus(Long userId, BookingStatus bookingStatus, Pageable page);
 
-    @Query("select b from Booking b Inner join Item i on b.item.id = i.id where i.owner.id = ?1 " +
-            "and ?2 between b.start and b.end order by b.start desc")
+    @EntityGraph(attributePaths = {"item", "booker"})
+    @Query("select b from Booking b where b.item.id in (select i.id from Item i where i.owner.id = ?1) " +
+            "and ?2 between b.start and b.end order by b.start desc, b.id desc")
     List<Booking> getAllCurrentUsersItemsBookings(Long userId, LocalDateTime endDateTime, Pageable page);
 
-    @Query("select b from Booking b Inner join Item i on b.item.id = i.id where i.owner.id = ?1 " +
-            "and b.end < ?2 order by b.start desc")
+    @EntityGraph(attributePaths = {"item", "booker"})
+    @Query("select b from Booking b where b.item.id in (select i.id from Item i where i.owner.id = ?1) " +
+            "and b.end < ?2 order by b.start desc, b.id desc")
     List<Booking> getAllPastUsersItemsBookings(Long userId, LocalDateTime startDateTime, Pageable page);
 
-    @Query("select b from Booking b Inner join Item i on b.item.id = i.id where i.owner.id = ?1 " +
-            "and b.start > ?2 order by b.start desc")
+    @EntityGraph(attributePaths = {"item", "booker"})
+    @Query("select b from Booking b where b.item.id in (select i.id from Item i where i.owner.id = ?1) " +
+            "and b.start > ?2 order by b.start desc, b.id desc")
     List<Booking> getAllFutureUsersItemsBookings(Long userId, LocalDateTime startDateTime, BookingStatus bookingStatus, Pageable page);
 
-    @Query(value = "SELECT * FROM bookings b INNER JOIN items i on i.id = b.item_id "
-            + "WHERE b.item_id = ?1 AND b.start_time < ?2 ORDER BY b.end_time DESC LIMIT 1",
+    @EntityGraph(attributePaths = {"item", "booker"})
+    @Query("select b from Booking b where b.booker.id = ?1 " +
+            "and b.start <= ?2 and (b.start < ?2 or b.id < ?3) order by b.start desc, b.id desc")
+    List<Booking> getAllBookerBookingsAfter(Long userId, LocalDateTime cursorStart, Long cursorId, Pageable page);
+
+    @EntityGraph(attributePaths = {"item", "booker"})
+    @Query("select b from Booking b where b.booker.id = ?1 and b.start > ?2 and b.status = ?3 " +
+            "and b.start <= ?4 and (b.start < ?4 or b.id < ?5) order by b.start desc, b.id desc")
+    List<Booking> getAllWaitingBookerBookingsAfter(Long userId, LocalDateTime startDateTime, BookingStatus bookingStatus,
+                                                   LocalDateTime cursorStart, Long cursorId, Pageable page);
+
+    @EntityGraph(attributePaths = {"item", "booker"})
+    @Query("select b from Booking b where b.booker.id = ?1 and b.status = ?2 " +
+            "and b.start <= ?3 and (b.start < ?3 or b.id < ?4) order by b.start desc, b.id desc")
+    List<Booking> getAllBookerBookingsByStatusAfter(Long userId, BookingStatus bookingStatus,
+                                                    LocalDateTime cursorStart, Long cursorId, Pageable page);
+
+    @EntityGraph(attributePaths = {"item", "booker"})
+    @Query("select b from Booking b where b.booker.id = ?1 and b.end > ?2 and b.start < ?2 " +
+            "and b.start <= ?3 and (b.start < ?3 or b.id < ?4) order by b.start desc, b.id desc")
+    List<Booking> getAllCurrentBookerBookingsAfter(Long userId, LocalDateTime nowTime,
+                                                   LocalDateTime cursorStart, Long cursorId, Pageable page);
+
+    @EntityGraph(attributePaths = {"item", "booker"})
+    @Query("select b from Booking b where b.booker.id = ?1 and b.end < ?2 " +
+            "and b.start <= ?3 and (b.start < ?3 or b.id < ?4) order by b.start desc, b.id desc")
+    List<Booking> getAllPastBookerBookingsAfter(Long userId, LocalDateTime endDateTime,
+                                                LocalDateTime cursorStart, Long cursorId, Pageable page);
+
+    @EntityGraph(attributePaths = {"item", "booker"})
+    @Query("select b from Booking b where b.booker.id = ?1 and b.start > ?2 " +
+            "and b.start <= ?3 and (b.start < ?3 or b.id < ?4) order by b.start desc, b.id desc")
+    List<Booking> getAllFutureBookerBookingsAfter(Long userId, LocalDateTime startDateTime,
+                                                  LocalDateTime cursorStart, Long cursorId, Pageable page);
+
+    @EntityGraph(attributePaths = {"item", "booker"})
+    @Query("select b from Booking b where b.item.id in (select i.id from Item i where i.owner.id = ?1) " +
+            "and b.start <= ?2 and (b.start < ?2 or b.id < ?3) order by b.start desc, b.id desc")
+    List<Booking> getAllUsersItemsBookingsAfter(Long userId, LocalDateTime cursorStart, Long cursorId, Pageable page);
+
+    @EntityGraph(attributePaths = {"item", "booker"})
+    @Query("select b from Booking b where b.item.id in (select i.id from Item i where i.owner.id = ?1) " +
+            "and b.start > ?2 and b.status = ?3 " +
+            "and b.start <= ?4 and (b.start < ?4 or b.id < ?5) order by b.start desc, b.id desc")
+    List<Booking> getAllWaitingUsersItemsBookingsAfter(Long userId, LocalDateTime startDateTime, BookingStatus bookingStatus,
+                                                       LocalDateTime cursorStart, Long cursorId, Pageable page);
+
+    @EntityGraph(attributePaths = {"item", "booker"})
+    @Query("select b from Booking b where b.item.id in (select i.id from Item i where i.owner.id = ?1) " +
+            "and b.status = ?2 " +
+            "and b.start <= ?3 and (b.start < ?3 or b.id < ?4) order by b.start desc, b.id desc")
+    List<Booking> getAllUsersItemsBookingsByStatusAfter(Long userId, BookingStatus bookingStatus,
+                                                         LocalDateTime cursorStart, Long cursorId, Pageable page);
+
+    @EntityGraph(attributePaths = {"item", "booker"})
+    @Query("select b from Booking b where b.item.id in (select i.id from Item i where i.owner.id = ?1) " +
+            "and ?2 between b.start and b.end " +
+            "and b.start <= ?3 and (b.start < ?3 or b.id < ?4) order by b.start desc, b.id desc")
+    List<Booking> getAllCurrentUsersItemsBookingsAfter(Long userId, LocalDateTime nowTime,
+                                                       LocalDateTime cursorStart, Long cursorId, Pageable page);
+
+    @EntityGraph(attributePaths = {"item", "booker"})
+    @Query("select b from Booking b where b.item.id in (select i.id from Item i where i.owner.id = ?1) " +
+            "and b.end < ?2 " +
+            "and b.start <= ?3 and (b.start < ?3 or b.id < ?4) order by b.start desc, b.id desc")
+    List<Booking> getAllPastUsersItemsBookingsAfter(Long userId, LocalDateTime endDateTime,
+                                                    LocalDateTime cursorStart, Long cursorId, Pageable page);
+
+    @EntityGraph(attributePaths = {"item", "booker"})
+    @Query("select b from Booking b where b.item.id in (select i.id from Item i where i.owner.id = ?1) " +
+            "and b.start > ?2 " +
+            "and b.start <= ?3 and (b.start < ?3 or b.id < ?4) order by b.start desc, b.id desc")
+    List<Booking> getAllFutureUsersItemsBookingsAfter(Long userId, LocalDateTime startDateTime,
+                                                      LocalDateTime cursorStart, Long cursorId, Pageable page);
+
+    @Query(value = "SELECT l.id, l.start_time, l.end_time, l.item_id, l.booker_id, l.status, l.created FROM "
+            + "(SELECT b.*, ROW_NUMBER() OVER (PARTITION BY b.item_id ORDER BY b.end_time DESC) AS rn "
+            + "FROM bookings b WHERE b.status <> 'EXPIRED' AND b.item_id IN (?1) AND b.start_time < ?2) l WHERE l.rn = 1 "
+            + "UNION ALL "
+            + "SELECT n.id, n.start_time, n.end_time, n.item_id, n.booker_id, n.status, n.created FROM "
+            + "(SELECT b.*, ROW_NUMBER() OVER (PARTITION BY b.item_id ORDER BY b.start_time ASC) AS rn "
+            + "FROM bookings b WHERE b.status NOT IN ('REJECTED', 'EXPIRED') AND b.item_id IN (?1) AND b.start_time > ?2) n WHERE n.rn = 1",
             nativeQuery = true)
-    Optional<Booking> getLastItemBooking(Long itemId, LocalDateTime nowTime);
+    List<Booking> getLastNextItemBookings(Collection<Long> itemIds, LocalDateTime nowTime);
 
-    @Query(value = "SELECT * FROM bookings b INNER JOIN items i on i.id = b.item_id "
-            + "WHERE b.status <> 'REJECTED' and b.item_id = ?1 and b.start_time > ?2 ORDER BY b.start_time ASC LIMIT 1",
-            nativeQuery = true)
-    Optional<Booking> getNextItemBooking(Long itemId, LocalDateTime nowTime);
+    @Query("select b from Booking as b " +
+            "where b.item.id = ?1 and b.status in ?2 and b.end > ?3 and b.start < ?4 " +
+            "order by b.start")
+    List<Booking> getItemBookingsInRange(Long itemId, Collection<BookingStatus> statuses, LocalDateTime from, LocalDateTime to);
+
+    Slice<Booking> findAllByStatus(BookingStatus status, Pageable page);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select b from Booking as b where b.id = ?1")
+    Optional<Booking> findByIdForUpdate(Long bookingId);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @EntityGraph(attributePaths = {"item", "booker"})
+    List<Booking> findAllByIdInAndStatusIs(Collection<Long> bookingIds, BookingStatus status);
+
+    Slice<Booking> findAllByStatusInAndEndIsAfter(Collection<BookingStatus> statuses, LocalDateTime endDateTime, Pageable page);
 
     List<Booking> findAllByItemAndBookerIdAndStatusIsAndEndIsBefore(Item item,
                                                                     Long userId,
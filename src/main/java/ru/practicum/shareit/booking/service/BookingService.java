@@ -1,19 +1,32 @@
 package ru.practicum.shareit.booking.service;
 
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import ru.practicum.shareit.booking.BookingState;
+import ru.practicum.shareit.booking.dto.BookingBatchResponseDto;
 import ru.practicum.shareit.booking.dto.BookingInputDto;
 import ru.practicum.shareit.booking.dto.BookingOutputDto;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface BookingService {
     BookingOutputDto addBooking(BookingInputDto bookingInputDto, Long userId);
 
+    BookingBatchResponseDto addBookings(List<BookingInputDto> bookingInputDtos, Long userId);
+
     BookingOutputDto editBooking(Long userId, Long bookingId, Boolean approved);
 
+    int expireBookings(Collection<Long> bookingIds);
+
+    SseEmitter subscribe(Long userId);
+
     BookingOutputDto getBooking(Long userId, Long bookingId);
 
     List<BookingOutputDto> getAllUsersBookings(Long userId, BookingState state, Integer from, Integer size);
 
     List<BookingOutputDto> getAllUsersItemsBookings(Long userId, BookingState state, Integer from, Integer size);
+
+    List<BookingOutputDto> getAllUsersBookingsAfter(Long userId, BookingState state, String cursor, Integer size);
+
+    List<BookingOutputDto> getAllUsersItemsBookingsAfter(Long userId, BookingState state, String cursor, Integer size);
 }
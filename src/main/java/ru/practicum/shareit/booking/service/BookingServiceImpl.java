@@ -5,60 +5,94 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import ru.practicum.shareit.booking.BookingCursor;
 import ru.practicum.shareit.booking.BookingState;
 import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.booking.dto.BookingBatchResponseDto;
+import ru.practicum.shareit.booking.dto.BookingBatchResultDto;
 import ru.practicum.shareit.booking.dto.BookingInputDto;
 import ru.practicum.shareit.booking.dto.BookingMapper;
 import ru.practicum.shareit.booking.dto.BookingOutputDto;
+import ru.practicum.shareit.booking.dto.BookingStatusEventDto;
+import ru.practicum.shareit.booking.expiry.BookingExpiryQueue;
+import ru.practicum.shareit.booking.interval.BookingIntervalIndex;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.stream.BookingEventHub;
 import ru.practicum.shareit.exceptions.*;
+import ru.practicum.shareit.item.availability.ItemAvailabilityCalendar;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.outbox.OutboxEventType;
+import ru.practicum.shareit.outbox.service.OutboxPublisher;
+import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.user.service.UserExistenceGuard;
+import ru.practicum.shareit.util.TransactionCallbacks;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @Slf4j
 @RequiredArgsConstructor
 public class BookingServiceImpl implements BookingService {
+    private static final List<BookingStatus> BUSY_STATUSES = List.of(BookingStatus.WAITING, BookingStatus.APPROVED);
+
     private final BookingRepository bookingRepository;
     private final UserRepository userRepository;
     private final ItemRepository itemRepository;
+    private final BookingIntervalIndex bookingIntervals;
+    private final ItemLockManager itemLocks;
+    private final ItemAvailabilityCalendar availabilityCalendar;
+    private final UserExistenceGuard userGuard;
+    private final BookingEventHub eventHub;
+    private final OutboxPublisher outbox;
+    private final BookingExpiryQueue expiryQueue;
+    private final TransactionTemplate transactionTemplate;
 
     @Override
     public BookingOutputDto addBooking(BookingInputDto bookingDto, Long userId) {
-        if (bookingDto.getStart().isAfter(bookingDto.getEnd())) {
-            System.out.println("b");
-            throw new BookingDateException("Start date must be before end date");
-        }
-        if (bookingDto.getStart().isBefore(LocalDateTime.now()) || bookingDto.getEnd().isBefore(LocalDateTime.now())) {
-            throw new BookingDateException("Start and end dates must be in the future");
-        }
-        if (bookingDto.getStart().equals(bookingDto.getEnd())) {
-            throw new BookingDateException("Start and end dates must be different");
-        }
-        Booking booking = BookingMapper.fromBookingInputDto(bookingDto);
-        Item item = itemRepository.findById(bookingDto.getItemId()).orElseThrow(() -> new ItemNotFoundException("Item with id " + bookingDto.getItemId() + " not found"));
-        if (item.getAvailable().equals(false)) {
-            throw new ItemIsBookedException("Item with id " + bookingDto.getItemId() + " is not available");
-        }
-        if (item.getOwner().getId().equals(userId)) {
-            throw new NotOwnerException("User with id " + userId + " is not allowed to book his own item");
+        validateDates(bookingDto);
+        return itemLocks.withItemLock(bookingDto.getItemId(),
+                () -> transactionTemplate.execute(status -> createBooking(bookingDto, userId)));
+    }
+
+    @Override
+    public BookingBatchResponseDto addBookings(List<BookingInputDto> bookingDtos, Long userId) {
+        if (bookingDtos == null || bookingDtos.isEmpty()) {
+            throw new IllegalArgumentException("Booking batch must not be empty");
         }
-        booking.setBooker(userRepository.findById(userId).orElseThrow(() -> new UserNotFoundException("User with id " + userId + " not found")));
-        booking.setItem(itemRepository.findById(bookingDto.getItemId()).orElseThrow(() -> new ItemNotFoundException("Item with id " + bookingDto.getItemId() + " not found")));
-        booking.setStatus(BookingStatus.WAITING);
-        log.info("Booking created: {}", booking);
-        bookingRepository.save(booking);
-        return BookingMapper.toBookingOutputDto(booking);
+        Set<Long> itemIds = bookingDtos.stream()
+                .filter(Objects::nonNull)
+                .map(BookingInputDto::getItemId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        return itemLocks.withItemLocks(itemIds, () -> transactionTemplate.execute(status -> {
+            User booker = userRepository.findById(userId).orElseThrow(() -> new UserNotFoundException("User with id " + userId + " not found"));
+            Map<Long, Item> items = itemRepository.findAllById(itemIds).stream()
+                    .collect(Collectors.toMap(Item::getId, Function.identity()));
+            return createBookings(bookingDtos, booker, items);
+        }));
     }
 
     @Override
+    @Transactional
     public BookingOutputDto editBooking(Long userId, Long bookingId, Boolean approved) {
-        Booking booking = bookingRepository.findById(bookingId).orElseThrow(() -> new BookingNotFoundException("Booking with id " + bookingId + " not found"));
+        Booking booking = bookingRepository.findByIdForUpdate(bookingId).orElseThrow(() -> new BookingNotFoundException("Booking with id " + bookingId + " not found"));
         Item item = booking.getItem();
         if (!item.getOwner().getId().equals(userId)) {
             throw new NotOwnerException("User with id " + userId + " is not allowed to edit booking with id " + bookingId);
@@ -70,9 +104,41 @@ public class BookingServiceImpl implements BookingService {
         booking.setStatus(approved ? BookingStatus.APPROVED : BookingStatus.REJECTED);
         log.info("Booking updated: {}", booking);
         bookingRepository.save(booking);
+        publishStatus(booking);
+        TransactionCallbacks.afterCommit(() -> {
+            if (booking.getStatus() == BookingStatus.REJECTED) {
+                bookingIntervals.remove(bookingId);
+            }
+            availabilityCalendar.invalidate(item.getId());
+        });
         return BookingMapper.toBookingOutputDto(booking);
     }
 
+    @Override
+    @Transactional
+    public int expireBookings(Collection<Long> bookingIds) {
+        List<Booking> bookings = bookingRepository.findAllByIdInAndStatusIs(bookingIds, BookingStatus.WAITING);
+        for (Booking booking : bookings) {
+            booking.setStatus(BookingStatus.EXPIRED);
+            long bookingId = booking.getId();
+            long itemId = booking.getItem().getId();
+            TransactionCallbacks.afterCommit(() -> {
+                bookingIntervals.remove(bookingId);
+                availabilityCalendar.invalidate(itemId);
+            });
+            publishStatus(booking);
+        }
+        return bookings.size();
+    }
+
+    @Override
+    public SseEmitter subscribe(Long userId) {
+        if (!userGuard.exists(userId)) {
+            throw new UserNotFoundException("User with id " + userId + " not found");
+        }
+        return eventHub.subscribe(userId);
+    }
+
     @Override
     public BookingOutputDto getBooking(Long userId, Long bookingId) {
         Booking booking = bookingRepository.findById(bookingId).orElseThrow(() -> new BookingNotFoundException("Booking with id " + bookingId + " not found"));
@@ -84,7 +150,7 @@ public class BookingServiceImpl implements BookingService {
 
     @Override
     public List<BookingOutputDto> getAllUsersBookings(Long userId, BookingState state, Integer from, Integer size) {
-        if (userRepository.findById(userId).isEmpty()) {
+        if (!userGuard.exists(userId)) {
             throw new UserNotFoundException("User with id " + userId + " not found");
         }
         System.out.println(from);
@@ -96,17 +162,19 @@ public class BookingServiceImpl implements BookingService {
         Pageable page = PageRequest.of(from / size, size);
         switch (state) {
             case ALL:
-                return BookingMapper.toBookingOutputDtoList(bookingRepository.findAllByBookerIdOrderByStartDesc(userId, page));
+                return BookingMapper.toBookingOutputDtoList(bookingRepository.findAllByBookerIdOrderByStartDescIdDesc(userId, page));
             case WAITING:
-                return BookingMapper.toBookingOutputDtoList(bookingRepository.findAllByBookerIdAndStartIsAfterAndStatusIsOrderByStartDesc(userId, now, BookingStatus.WAITING, page));
+                return BookingMapper.toBookingOutputDtoList(bookingRepository.findAllByBookerIdAndStartIsAfterAndStatusIsOrderByStartDescIdDesc(userId, now, BookingStatus.WAITING, page));
             case REJECTED:
-                return BookingMapper.toBookingOutputDtoList(bookingRepository.findAllByBookerIdAndStatusIsOrderByStartDesc(userId, BookingStatus.REJECTED, page));
+                return BookingMapper.toBookingOutputDtoList(bookingRepository.findAllByBookerIdAndStatusIsOrderByStartDescIdDesc(userId, BookingStatus.REJECTED, page));
+            case EXPIRED:
+                return BookingMapper.toBookingOutputDtoList(bookingRepository.findAllByBookerIdAndStatusIsOrderByStartDescIdDesc(userId, BookingStatus.EXPIRED, page));
             case CURRENT:
-                return BookingMapper.toBookingOutputDtoList(bookingRepository.findAllByBookerIdAndEndIsAfterAndStartIsBeforeOrderByStartDesc(userId, now, now, page));
+                return BookingMapper.toBookingOutputDtoList(bookingRepository.findAllByBookerIdAndEndIsAfterAndStartIsBeforeOrderByStartDescIdDesc(userId, now, now, page));
             case PAST:
-                return BookingMapper.toBookingOutputDtoList(bookingRepository.findAllByBookerIdAndEndIsBeforeOrderByStartDesc(userId, now, page));
+                return BookingMapper.toBookingOutputDtoList(bookingRepository.findAllByBookerIdAndEndIsBeforeOrderByStartDescIdDesc(userId, now, page));
             case FUTURE:
-                return BookingMapper.toBookingOutputDtoList(bookingRepository.findAllByBookerIdAndStartIsAfterOrderByStartDesc(userId, now, page));
+                return BookingMapper.toBookingOutputDtoList(bookingRepository.findAllByBookerIdAndStartIsAfterOrderByStartDescIdDesc(userId, now, page));
             default:
                 throw new StateNotFoundException("Booking state " + state + " not found");
         }
@@ -114,7 +182,7 @@ public class BookingServiceImpl implements BookingService {
 
     @Override
     public List<BookingOutputDto> getAllUsersItemsBookings(Long userId, BookingState state, Integer from, Integer size) {
-        if (userRepository.findById(userId).isEmpty()) {
+        if (!userGuard.exists(userId)) {
             throw new UserNotFoundException("User with id " + userId + " not found");
         }
         if (from < 0 || size <= 0) {
@@ -128,7 +196,9 @@ public class BookingServiceImpl implements BookingService {
             case WAITING:
                 return BookingMapper.toBookingOutputDtoList(bookingRepository.getAllWaitingUsersItemsBookings(userId, now, BookingStatus.WAITING, page));
             case REJECTED:
-                return BookingMapper.toBookingOutputDtoList(bookingRepository.getAllRejectedUsersItemsBookings(userId, BookingStatus.REJECTED, page));
+                return BookingMapper.toBookingOutputDtoList(bookingRepository.getAllUsersItemsBookingsByStatus(userId, BookingStatus.REJECTED, page));
+            case EXPIRED:
+                return BookingMapper.toBookingOutputDtoList(bookingRepository.getAllUsersItemsBookingsByStatus(userId, BookingStatus.EXPIRED, page));
             case CURRENT:
                 return BookingMapper.toBookingOutputDtoList(bookingRepository.getAllCurrentUsersItemsBookings(userId, now, page));
             case PAST:
@@ -141,4 +211,193 @@ public class BookingServiceImpl implements BookingService {
 
     }
 
+    @Override
+    public List<BookingOutputDto> getAllUsersBookingsAfter(Long userId, BookingState state, String cursor, Integer size) {
+        if (cursor.isBlank()) {
+            return getAllUsersBookings(userId, state, 0, size);
+        }
+        if (!userGuard.exists(userId)) {
+            throw new UserNotFoundException("User with id " + userId + " not found");
+        }
+        if (size <= 0) {
+            throw new IllegalArgumentException("Page size must be positive");
+        }
+        BookingCursor after = BookingCursor.decode(cursor);
+        LocalDateTime now = LocalDateTime.now();
+        Pageable page = PageRequest.of(0, size);
+        switch (state) {
+            case ALL:
+                return BookingMapper.toBookingOutputDtoList(bookingRepository.getAllBookerBookingsAfter(userId, after.getStart(), after.getId(), page));
+            case WAITING:
+                return BookingMapper.toBookingOutputDtoList(bookingRepository.getAllWaitingBookerBookingsAfter(userId, now, BookingStatus.WAITING, after.getStart(), after.getId(), page));
+            case REJECTED:
+                return BookingMapper.toBookingOutputDtoList(bookingRepository.getAllBookerBookingsByStatusAfter(userId, BookingStatus.REJECTED, after.getStart(), after.getId(), page));
+            case EXPIRED:
+                return BookingMapper.toBookingOutputDtoList(bookingRepository.getAllBookerBookingsByStatusAfter(userId, BookingStatus.EXPIRED, after.getStart(), after.getId(), page));
+            case CURRENT:
+                return BookingMapper.toBookingOutputDtoList(bookingRepository.getAllCurrentBookerBookingsAfter(userId, now, after.getStart(), after.getId(), page));
+            case PAST:
+                return BookingMapper.toBookingOutputDtoList(bookingRepository.getAllPastBookerBookingsAfter(userId, now, after.getStart(), after.getId(), page));
+            case FUTURE:
+                return BookingMapper.toBookingOutputDtoList(bookingRepository.getAllFutureBookerBookingsAfter(userId, now, after.getStart(), after.getId(), page));
+            default:
+                throw new StateNotFoundException("Booking state " + state + " not found");
+        }
+    }
+
+    @Override
+    public List<BookingOutputDto> getAllUsersItemsBookingsAfter(Long userId, BookingState state, String cursor, Integer size) {
+        if (cursor.isBlank()) {
+            return getAllUsersItemsBookings(userId, state, 0, size);
+        }
+        if (!userGuard.exists(userId)) {
+            throw new UserNotFoundException("User with id " + userId + " not found");
+        }
+        if (size <= 0) {
+            throw new IllegalArgumentException("Page size must be positive");
+        }
+        BookingCursor after = BookingCursor.decode(cursor);
+        LocalDateTime now = LocalDateTime.now();
+        Pageable page = PageRequest.of(0, size);
+        switch (state) {
+            case ALL:
+                return BookingMapper.toBookingOutputDtoList(bookingRepository.getAllUsersItemsBookingsAfter(userId, after.getStart(), after.getId(), page));
+            case WAITING:
+                return BookingMapper.toBookingOutputDtoList(bookingRepository.getAllWaitingUsersItemsBookingsAfter(userId, now, BookingStatus.WAITING, after.getStart(), after.getId(), page));
+            case REJECTED:
+                return BookingMapper.toBookingOutputDtoList(bookingRepository.getAllUsersItemsBookingsByStatusAfter(userId, BookingStatus.REJECTED, after.getStart(), after.getId(), page));
+            case EXPIRED:
+                return BookingMapper.toBookingOutputDtoList(bookingRepository.getAllUsersItemsBookingsByStatusAfter(userId, BookingStatus.EXPIRED, after.getStart(), after.getId(), page));
+            case CURRENT:
+                return BookingMapper.toBookingOutputDtoList(bookingRepository.getAllCurrentUsersItemsBookingsAfter(userId, now, after.getStart(), after.getId(), page));
+            case PAST:
+                return BookingMapper.toBookingOutputDtoList(bookingRepository.getAllPastUsersItemsBookingsAfter(userId, now, after.getStart(), after.getId(), page));
+            case FUTURE:
+                return BookingMapper.toBookingOutputDtoList(bookingRepository.getAllFutureUsersItemsBookingsAfter(userId, now, after.getStart(), after.getId(), page));
+            default:
+                throw new StateNotFoundException("Booking state " + state + " not found");
+        }
+    }
+
+    private BookingBatchResponseDto createBookings(List<BookingInputDto> bookingDtos, User booker, Map<Long, Item> items) {
+        List<BookingBatchResultDto> results = new ArrayList<>(bookingDtos.size());
+        Map<Integer, Booking> accepted = new LinkedHashMap<>();
+        Map<Long, List<Booking>> acceptedByItem = new HashMap<>();
+        for (int i = 0; i < bookingDtos.size(); i++) {
+            BookingInputDto bookingDto = bookingDtos.get(i);
+            try {
+                if (bookingDto == null || bookingDto.getStart() == null || bookingDto.getEnd() == null || bookingDto.getItemId() == null) {
+                    throw new IllegalArgumentException("Start, end and itemId are required");
+                }
+                validateDates(bookingDto);
+                Item item = items.get(bookingDto.getItemId());
+                if (item == null) {
+                    throw new ItemNotFoundException("Item with id " + bookingDto.getItemId() + " not found");
+                }
+                checkBookable(item, bookingDto, booker.getId());
+                List<Booking> itemBookings = acceptedByItem.computeIfAbsent(item.getId(), id -> new ArrayList<>());
+                for (Booking other : itemBookings) {
+                    if (other.getStart().isBefore(bookingDto.getEnd()) && other.getEnd().isAfter(bookingDto.getStart())) {
+                        throw new BookingOverlapException("Booking overlaps another entry of the same batch");
+                    }
+                }
+                Booking booking = BookingMapper.fromBookingInputDto(bookingDto);
+                booking.setBooker(booker);
+                booking.setItem(item);
+                booking.setStatus(BookingStatus.WAITING);
+                itemBookings.add(booking);
+                accepted.put(i, booking);
+                results.add(null);
+            } catch (BookingDateException | ItemIsBookedException | BookingOverlapException | IllegalArgumentException e) {
+                results.add(BookingBatchResultDto.failed(i, e.getMessage()));
+            }
+        }
+        bookingRepository.saveAll(accepted.values());
+        log.info("Booking batch created: {} of {} entries", accepted.size(), bookingDtos.size());
+        accepted.forEach((index, booking) -> {
+            publishStatus(booking);
+            results.set(index, BookingBatchResultDto.created(index, BookingMapper.toBookingOutputDto(booking)));
+        });
+        TransactionCallbacks.afterCommit(() -> {
+            accepted.values().forEach(booking -> {
+                bookingIntervals.add(booking);
+                expiryQueue.schedule(booking);
+            });
+            acceptedByItem.forEach((itemId, itemBookings) -> {
+                if (!itemBookings.isEmpty()) {
+                    availabilityCalendar.invalidate(itemId);
+                }
+            });
+        });
+        return new BookingBatchResponseDto(accepted.size(), bookingDtos.size() - accepted.size(), results);
+    }
+
+    private void publishStatus(Booking booking) {
+        BookingStatusEventDto event = new BookingStatusEventDto(booking.getId(), booking.getItem().getId(),
+                booking.getStatus(), booking.getStart(), booking.getEnd());
+        outbox.record(toEventType(booking.getStatus()), booking.getId(), event);
+        eventHub.publish(event, booking.getBooker().getId(), booking.getItem().getOwner().getId());
+    }
+
+    private static OutboxEventType toEventType(BookingStatus status) {
+        switch (status) {
+            case APPROVED:
+                return OutboxEventType.BOOKING_APPROVED;
+            case REJECTED:
+                return OutboxEventType.BOOKING_REJECTED;
+            case EXPIRED:
+                return OutboxEventType.BOOKING_EXPIRED;
+            default:
+                return OutboxEventType.BOOKING_CREATED;
+        }
+    }
+
+    private void validateDates(BookingInputDto bookingDto) {
+        if (bookingDto.getStart().isAfter(bookingDto.getEnd())) {
+            throw new BookingDateException("Start date must be before end date");
+        }
+        if (bookingDto.getStart().isBefore(LocalDateTime.now()) || bookingDto.getEnd().isBefore(LocalDateTime.now())) {
+            throw new BookingDateException("Start and end dates must be in the future");
+        }
+        if (bookingDto.getStart().equals(bookingDto.getEnd())) {
+            throw new BookingDateException("Start and end dates must be different");
+        }
+    }
+
+    private void checkBookable(Item item, BookingInputDto bookingDto, Long userId) {
+        if (item.getAvailable().equals(false)) {
+            throw new ItemIsBookedException("Item with id " + bookingDto.getItemId() + " is not available");
+        }
+        if (item.getOwner().getId().equals(userId)) {
+            throw new NotOwnerException("User with id " + userId + " is not allowed to book his own item");
+        }
+        if (overlapsExistingBooking(item.getId(), bookingDto.getStart(), bookingDto.getEnd())) {
+            throw new BookingOverlapException("Item with id " + bookingDto.getItemId() + " is already booked for the requested period");
+        }
+    }
+
+    private boolean overlapsExistingBooking(long itemId, LocalDateTime start, LocalDateTime end) {
+        if (bookingIntervals.isReady()) {
+            return bookingIntervals.overlaps(itemId, start, end);
+        }
+        return !bookingRepository.getItemBookingsInRange(itemId, BUSY_STATUSES, start, end).isEmpty();
+    }
+
+    private BookingOutputDto createBooking(BookingInputDto bookingDto, Long userId) {
+        Booking booking = BookingMapper.fromBookingInputDto(bookingDto);
+        Item item = itemRepository.findById(bookingDto.getItemId()).orElseThrow(() -> new ItemNotFoundException("Item with id " + bookingDto.getItemId() + " not found"));
+        checkBookable(item, bookingDto, userId);
+        booking.setBooker(userRepository.findById(userId).orElseThrow(() -> new UserNotFoundException("User with id " + userId + " not found")));
+        booking.setItem(item);
+        booking.setStatus(BookingStatus.WAITING);
+        log.info("Booking created: {}", booking);
+        bookingRepository.save(booking);
+        publishStatus(booking);
+        TransactionCallbacks.afterCommit(() -> {
+            bookingIntervals.add(booking);
+            expiryQueue.schedule(booking);
+            availabilityCalendar.invalidate(item.getId());
+        });
+        return BookingMapper.toBookingOutputDto(booking);
+    }
 }
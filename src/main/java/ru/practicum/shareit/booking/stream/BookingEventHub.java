@@ -0,0 +1,239 @@
+package ru.practicum.shareit.booking.stream;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import ru.practicum.shareit.booking.dto.BookingStatusEventDto;
+import ru.practicum.shareit.util.TransactionCallbacks;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+@Slf4j
+@Component
+public class BookingEventHub implements MeterBinder, DisposableBean {
+    static final String EVENT_NAME = "booking-status";
+
+    private final int bufferSize;
+    private final long timeoutMillis;
+    private final long writeTimeoutNanos;
+    private final ConcurrentMap<Long, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    private final LongAdder dropped = new LongAdder();
+    private final ScheduledExecutorService scheduler;
+    private final ExecutorService writers;
+
+    public BookingEventHub(@Value("${shareit.bookings.stream.buffer-size:64}") int bufferSize,
+                           @Value("${shareit.bookings.stream.heartbeat:15s}") Duration heartbeat,
+                           @Value("${shareit.bookings.stream.timeout:30m}") Duration timeout,
+                           @Value("${shareit.bookings.stream.write-timeout:10s}") Duration writeTimeout,
+                           @Value("${shareit.bookings.stream.threads:2}") int threads) {
+        this.bufferSize = bufferSize;
+        this.timeoutMillis = timeout.toMillis();
+        this.writeTimeoutNanos = writeTimeout.toNanos();
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "booking-stream-heartbeat");
+            thread.setDaemon(true);
+            return thread;
+        });
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.writers = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "booking-stream-writer-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleAtFixedRate(this::heartbeat, heartbeat.toMillis(), heartbeat.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    public SseEmitter subscribe(long userId) {
+        SseEmitter emitter = createEmitter();
+        Subscriber subscriber = new Subscriber(userId, emitter);
+        subscribers.computeIfAbsent(userId, id -> ConcurrentHashMap.newKeySet()).add(subscriber);
+        subscriberCount.incrementAndGet();
+        emitter.onCompletion(() -> unsubscribe(subscriber));
+        emitter.onTimeout(() -> unsubscribe(subscriber));
+        emitter.onError(e -> unsubscribe(subscriber));
+        subscriber.offer(() -> SseEmitter.event().comment("connected"));
+        return emitter;
+    }
+
+    public void publish(BookingStatusEventDto event, long bookerId, long ownerId) {
+        TransactionCallbacks.afterCommit(() -> dispatch(event, bookerId, ownerId));
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("shareit.bookings.stream.subscribers", subscriberCount, AtomicInteger::get)
+                .register(registry);
+        FunctionCounter.builder("shareit.bookings.stream.dropped", dropped, LongAdder::sum)
+                .register(registry);
+    }
+
+    @Override
+    public void destroy() {
+        scheduler.shutdownNow();
+        subscribers.values().forEach(userSubscribers -> userSubscribers.forEach(subscriber -> subscriber.close(null)));
+        subscribers.clear();
+        writers.shutdown();
+    }
+
+    protected SseEmitter createEmitter() {
+        return new SseEmitter(timeoutMillis);
+    }
+
+    private void dispatch(BookingStatusEventDto event, long bookerId, long ownerId) {
+        Supplier<SseEmitter.SseEventBuilder> frame = () -> SseEmitter.event()
+                .name(EVENT_NAME)
+                .id(event.getBookingId() + ":" + event.getStatus())
+                .data(event);
+        deliver(bookerId, frame);
+        if (ownerId != bookerId) {
+            deliver(ownerId, frame);
+        }
+    }
+
+    private void deliver(long userId, Supplier<SseEmitter.SseEventBuilder> frame) {
+        Set<Subscriber> userSubscribers = subscribers.get(userId);
+        if (userSubscribers != null) {
+            userSubscribers.forEach(subscriber -> subscriber.offer(frame));
+        }
+    }
+
+    private void heartbeat() {
+        Supplier<SseEmitter.SseEventBuilder> frame = () -> SseEmitter.event().comment("heartbeat");
+        long now = System.nanoTime();
+        subscribers.values().forEach(userSubscribers -> userSubscribers.forEach(subscriber -> {
+            if (subscriber.isStalled(now)) {
+                log.debug("Booking stream subscriber {} stalled, dropping it", subscriber.userId);
+                subscriber.close(new IOException("Booking stream write timed out"));
+            } else {
+                subscriber.offer(frame);
+            }
+        }));
+    }
+
+    private void unsubscribe(Subscriber subscriber) {
+        subscribers.computeIfPresent(subscriber.userId, (userId, userSubscribers) -> {
+            if (userSubscribers.remove(subscriber)) {
+                subscriberCount.decrementAndGet();
+            }
+            return userSubscribers.isEmpty() ? null : userSubscribers;
+        });
+    }
+
+    private final class Subscriber {
+        private final long userId;
+        private final SseEmitter emitter;
+        private final Deque<Supplier<SseEmitter.SseEventBuilder>> buffer = new ArrayDeque<>();
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private volatile long sendStarted;
+        private volatile boolean sending;
+        private boolean closed;
+        private IOException closeError;
+
+        private Subscriber(long userId, SseEmitter emitter) {
+            this.userId = userId;
+            this.emitter = emitter;
+        }
+
+        private void offer(Supplier<SseEmitter.SseEventBuilder> frame) {
+            synchronized (buffer) {
+                if (closed) {
+                    return;
+                }
+                if (buffer.size() >= bufferSize) {
+                    buffer.pollFirst();
+                    dropped.increment();
+                }
+                buffer.addLast(frame);
+            }
+            scheduleDrain();
+        }
+
+        private void scheduleDrain() {
+            if (draining.compareAndSet(false, true)) {
+                try {
+                    writers.execute(this::drain);
+                } catch (RejectedExecutionException e) {
+                    draining.set(false);
+                }
+            }
+        }
+
+        private boolean isStalled(long now) {
+            return sending && now - sendStarted > writeTimeoutNanos;
+        }
+
+        /**
+         * Stops delivery without touching the emitter. A stalled writer still holds the emitter's lock, so
+         * completing it here would block the caller behind that send; the writer completes it instead.
+         */
+        private void close(IOException error) {
+            unsubscribe(this);
+            synchronized (buffer) {
+                closed = true;
+                closeError = error;
+                dropped.add(buffer.size());
+                buffer.clear();
+            }
+            scheduleDrain();
+        }
+
+        private void complete() {
+            if (closeError != null) {
+                emitter.completeWithError(closeError);
+            } else {
+                emitter.complete();
+            }
+        }
+
+        private void drain() {
+            while (true) {
+                Supplier<SseEmitter.SseEventBuilder> frame;
+                synchronized (buffer) {
+                    frame = closed ? null : buffer.pollFirst();
+                    if (frame == null && !closed) {
+                        draining.set(false);
+                        return;
+                    }
+                }
+                if (frame == null) {
+                    complete();
+                    return;
+                }
+                sendStarted = System.nanoTime();
+                sending = true;
+                try {
+                    emitter.send(frame.get());
+                } catch (IOException | IllegalStateException e) {
+                    log.debug("Booking stream subscriber {} disconnected: {}", userId, e.getMessage());
+                    unsubscribe(this);
+                    draining.set(false);
+                    return;
+                } finally {
+                    sending = false;
+                }
+            }
+        }
+    }
+}
@@ -45,6 +45,12 @@ public class DefaultExceptionHandler {
         return new ErrorResponse("Предмет забронирован", e.getMessage());
     }
 
+    @ExceptionHandler
+    @ResponseStatus(HttpStatus.CONFLICT)
+    public ErrorResponse handleBookingOverlapException(BookingOverlapException e) {
+        return new ErrorResponse("Предмет уже забронирован на эти даты", e.getMessage());
+    }
+
     @ExceptionHandler
     @ResponseStatus(HttpStatus.NOT_FOUND)
     public ErrorResponse handleUserNotFoundException(UserNotFoundException e) {
@@ -0,0 +1,17 @@
+package ru.practicum.shareit.item;
+
+import java.util.Locale;
+
+public enum ItemSearchSort {
+    ID,
+    RELEVANCE;
+
+    public static ItemSearchSort from(String sort) {
+        for (ItemSearchSort value : values()) {
+            if (value.name().equals(sort.toUpperCase(Locale.ROOT))) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Unknown sort: " + sort);
+    }
+}
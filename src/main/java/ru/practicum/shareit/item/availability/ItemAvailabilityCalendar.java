@@ -0,0 +1,156 @@
+package ru.practicum.shareit.item.availability;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDto;
+import ru.practicum.shareit.item.dto.TimeIntervalDto;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+@Component
+public class ItemAvailabilityCalendar implements MeterBinder {
+    private static final List<BookingStatus> BUSY_STATUSES = List.of(BookingStatus.WAITING, BookingStatus.APPROVED);
+
+    private final BookingRepository bookingRepository;
+    private final Map<Long, CachedCalendar> cache;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private long generation;
+
+    public ItemAvailabilityCalendar(BookingRepository bookingRepository,
+                                    @Value("${shareit.availability.cache.max-items:10000}") int maxItems) {
+        this.bookingRepository = bookingRepository;
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, CachedCalendar> eldest) {
+                return size() > maxItems;
+            }
+        };
+    }
+
+    public ItemAvailabilityDto getAvailability(long itemId, LocalDateTime from, LocalDateTime to) {
+        List<TimeIntervalDto> busy;
+        long observedGeneration;
+        synchronized (cache) {
+            CachedCalendar cached = cache.get(itemId);
+            if (cached != null && cached.covers(from, to)) {
+                hits.increment();
+                return toAvailabilityDto(itemId, from, to, clip(cached.busy, from, to));
+            }
+            misses.increment();
+            observedGeneration = generation;
+        }
+        busy = merge(bookingRepository.getItemBookingsInRange(itemId, BUSY_STATUSES, from, to));
+        synchronized (cache) {
+            if (generation == observedGeneration) {
+                cache.put(itemId, new CachedCalendar(from, to, busy));
+            }
+        }
+        return toAvailabilityDto(itemId, from, to, clip(busy, from, to));
+    }
+
+    public void invalidate(long itemId) {
+        synchronized (cache) {
+            generation++;
+            cache.remove(itemId);
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("shareit.cache.gets", hits, LongAdder::sum)
+                .tags("cache", "item-availability", "result", "hit")
+                .register(registry);
+        FunctionCounter.builder("shareit.cache.gets", misses, LongAdder::sum)
+                .tags("cache", "item-availability", "result", "miss")
+                .register(registry);
+        Gauge.builder("shareit.cache.size", this, ItemAvailabilityCalendar::size)
+                .tag("cache", "item-availability")
+                .register(registry);
+    }
+
+    private int size() {
+        synchronized (cache) {
+            return cache.size();
+        }
+    }
+
+    static List<TimeIntervalDto> merge(List<Booking> bookingsByStart) {
+        List<TimeIntervalDto> merged = new ArrayList<>();
+        LocalDateTime start = null;
+        LocalDateTime end = null;
+        for (Booking booking : bookingsByStart) {
+            if (start != null && !booking.getStart().isAfter(end)) {
+                if (booking.getEnd().isAfter(end)) {
+                    end = booking.getEnd();
+                }
+                continue;
+            }
+            if (start != null) {
+                merged.add(new TimeIntervalDto(start, end));
+            }
+            start = booking.getStart();
+            end = booking.getEnd();
+        }
+        if (start != null) {
+            merged.add(new TimeIntervalDto(start, end));
+        }
+        return merged;
+    }
+
+    private static List<TimeIntervalDto> clip(List<TimeIntervalDto> busy, LocalDateTime from, LocalDateTime to) {
+        List<TimeIntervalDto> clipped = new ArrayList<>();
+        for (TimeIntervalDto interval : busy) {
+            if (interval.getEnd().isAfter(from) && interval.getStart().isBefore(to)) {
+                clipped.add(new TimeIntervalDto(
+                        interval.getStart().isBefore(from) ? from : interval.getStart(),
+                        interval.getEnd().isAfter(to) ? to : interval.getEnd()));
+            }
+        }
+        return clipped;
+    }
+
+    private static ItemAvailabilityDto toAvailabilityDto(long itemId, LocalDateTime from, LocalDateTime to,
+                                                         List<TimeIntervalDto> busy) {
+        List<TimeIntervalDto> free = new ArrayList<>();
+        LocalDateTime cursor = from;
+        for (TimeIntervalDto interval : busy) {
+            if (interval.getStart().isAfter(cursor)) {
+                free.add(new TimeIntervalDto(cursor, interval.getStart()));
+            }
+            cursor = interval.getEnd();
+        }
+        if (cursor.isBefore(to)) {
+            free.add(new TimeIntervalDto(cursor, to));
+        }
+        return new ItemAvailabilityDto(itemId, from, to, busy, free);
+    }
+
+    private static class CachedCalendar {
+        private final LocalDateTime from;
+        private final LocalDateTime to;
+        private final List<TimeIntervalDto> busy;
+
+        private CachedCalendar(LocalDateTime from, LocalDateTime to, List<TimeIntervalDto> busy) {
+            this.from = from;
+            this.to = to;
+            this.busy = busy;
+        }
+
+        private boolean covers(LocalDateTime from, LocalDateTime to) {
+            return !this.from.isAfter(from) && !this.to.isBefore(to);
+        }
+    }
+}
@@ -3,6 +3,7 @@ package ru.practicum.shareit.item.dto;
 import ru.practicum.shareit.item.model.Comment;
 
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 public class CommentMapper {
@@ -29,4 +30,10 @@ public class CommentMapper {
                 .map(CommentMapper::toDto)
                 .collect(Collectors.toList());
     }
+
+    public static Map<Long, List<CommentDto>> toDtoMapByItemId(List<Comment> comments) {
+        return comments.stream()
+                .collect(Collectors.groupingBy(comment -> comment.getItem().getId(),
+                        Collectors.mapping(CommentMapper::toDto, Collectors.toList())));
+    }
 }
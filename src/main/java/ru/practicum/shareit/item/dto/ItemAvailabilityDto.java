@@ -0,0 +1,15 @@
+package ru.practicum.shareit.item.dto;
+
+import lombok.Value;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Value
+public class ItemAvailabilityDto {
+    Long itemId;
+    LocalDateTime from;
+    LocalDateTime to;
+    List<TimeIntervalDto> busy;
+    List<TimeIntervalDto> free;
+}
@@ -6,18 +6,30 @@ import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
 
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 public class ItemMapper {
+    private static final List<Booking> NO_BOOKINGS = Collections.nCopies(2, null);
+
     public static ItemDto toOutputItemDto(Item item, List<Comment> comments) {
+        return toOutputItemDtoWithComments(item, CommentMapper.toDtoList(comments));
+    }
+
+    public static ItemDto toOutputItemDto(Item item, Map<Long, List<CommentDto>> commentsByItemId) {
+        return toOutputItemDtoWithComments(item, commentsByItemId.getOrDefault(item.getId(), Collections.emptyList()));
+    }
+
+    private static ItemDto toOutputItemDtoWithComments(Item item, List<CommentDto> comments) {
         ItemDto itemDto = new ItemDto();
         itemDto.setId(item.getId());
         itemDto.setName(item.getName());
         itemDto.setDescription(item.getDescription());
         itemDto.setRequestId(item.getItemRequest() != null ? item.getItemRequest().getId() : null);
         itemDto.setAvailable(item.getAvailable());
-        itemDto.setComments(CommentMapper.toDtoList(comments));
+        itemDto.setComments(comments);
         return itemDto;
     }
 
@@ -32,6 +44,16 @@ public class ItemMapper {
     }
 
     public static ItemDto toOwnerItemDto(Item item, List<Booking> bookings, List<Comment> comments) {
+        return toOwnerItemDtoWithComments(item, bookings, CommentMapper.toDtoList(comments));
+    }
+
+    public static ItemDto toOwnerItemDto(Item item, Map<Long, List<Booking>> lastNextBookings,
+                                         Map<Long, List<CommentDto>> commentsByItemId) {
+        return toOwnerItemDtoWithComments(item, lastNextBookings.getOrDefault(item.getId(), NO_BOOKINGS),
+                commentsByItemId.getOrDefault(item.getId(), Collections.emptyList()));
+    }
+
+    private static ItemDto toOwnerItemDtoWithComments(Item item, List<Booking> bookings, List<CommentDto> comments) {
         ItemDto itemDto = new ItemDto();
         itemDto.setId(item.getId());
         itemDto.setName(item.getName());
@@ -39,7 +61,7 @@ public class ItemMapper {
         itemDto.setAvailable(item.getAvailable());
         itemDto.setLastBooking(bookings.get(0) == null ? null : BookingMapper.toItemBookingDto(bookings.get(0)));
         itemDto.setNextBooking(bookings.get(1) == null ? null : BookingMapper.toItemBookingDto(bookings.get(1)));
-        itemDto.setComments(CommentMapper.toDtoList(comments));
+        itemDto.setComments(comments);
         return itemDto;
     }
 
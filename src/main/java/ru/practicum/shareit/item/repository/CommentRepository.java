@@ -9,10 +9,14 @@ import java.util.List;
 
 public interface CommentRepository extends JpaRepository<Comment, Long> {
 
+    @Query("select c from Comment as c where c.item.id = ?1")
     List<Comment> findAllByItemId(Long itemId);
 
-    @Query("select c from Comment as c where c.item in ?1")
+    @Query("select c from Comment as c join fetch c.item join fetch c.author where c.item in ?1")
     List<Comment> findByItemIn(List<Item> items);
 
     List<Comment> findAllByItemIn(List<Item> items);
+
+    @Query("select c.item.id as itemId, count(c) as commentCount from Comment as c group by c.item.id")
+    List<ItemCommentCount> countCommentsByItem();
 }
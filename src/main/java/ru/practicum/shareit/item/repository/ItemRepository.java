@@ -1,30 +1,31 @@
 package ru.practicum.shareit.item.repository;
 
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.request.model.ItemRequest;
 
+import javax.persistence.QueryHint;
 import java.util.List;
 
 public interface ItemRepository extends JpaRepository<Item, Long> {
     List<Item> findAllByItemRequest(ItemRequest itemRequest);
 
+    @Query("select i from Item i where i.owner.id = ?1 order by i.id")
     List<Item> getAllByOwnerId(Long userId, Pageable page);
 
 
-    List<Item> getAllByItemRequestIn(List<ItemRequest> itemRequests, Pageable page);
-
-    List<Item> findAllByItemRequestIn(List<ItemRequest> itemRequests);
-
-
     @Query("select i from Item i " +
-            "where upper(i.name) like upper(concat('%', ?1, '%')) " +
-            "or upper(i.description) like upper(concat('%', ?1, '%')) " +
+            "where (upper(i.name) like upper(concat('%', ?1, '%')) " +
+            "or upper(i.description) like upper(concat('%', ?1, '%'))) " +
             "and i.available = true")
     List<Item> searchAvailableItemsByKeyword(String text, Pageable page);
 
+    @QueryHints(@QueryHint(name = "org.hibernate.cacheable", value = "true"))
+    @Query("select case when count(i) > 0 then true else false end from Item i where i.id = ?1")
+    boolean existsById(Long id);
+
 
 }
@@ -0,0 +1,291 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.model.Item;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.stream.LongStream;
+
+@Slf4j
+@Component
+public class ItemSearchIndex {
+    private static final int GRAM_LENGTH = 3;
+    private static final long[] NO_IDS = new long[0];
+    private static final double NAME_WEIGHT = 10.0;
+    private static final double DESCRIPTION_WEIGHT = 1.0;
+    private static final double COMMENT_WEIGHT = 0.1;
+    private static final Comparator<ScoredItem> WORST_FIRST = Comparator.comparingDouble((ScoredItem item) -> item.score)
+            .thenComparing(item -> item.itemId, Comparator.reverseOrder());
+
+    private final int maxItems;
+    private final boolean useCommentCount;
+    private IndexData data = new IndexData();
+    private List<Consumer<IndexData>> pendingUpdates;
+    private volatile boolean ready;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public ItemSearchIndex(@Value("${shareit.search.index.max-items:1000000}") int maxItems,
+                           @Value("${shareit.search.relevance.use-comment-count:true}") boolean useCommentCount) {
+        this.maxItems = maxItems;
+        this.useCommentCount = useCommentCount;
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public int getMaxItems() {
+        return maxItems;
+    }
+
+    public void index(Item item) {
+        update(indexData -> indexData.put(item));
+    }
+
+    public void addComment(long itemId) {
+        update(indexData -> indexData.commentCounts.merge(itemId, 1L, Long::sum));
+    }
+
+    public void rebuild(Consumer<Predicate<Item>> source, Map<Long, Long> commentCounts) {
+        lock.writeLock().lock();
+        try {
+            pendingUpdates = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        IndexData rebuilt = new IndexData();
+        rebuilt.commentCounts.putAll(commentCounts);
+        source.accept(item -> {
+            rebuilt.put(item);
+            return rebuilt.items.size() <= maxItems;
+        });
+        lock.writeLock().lock();
+        try {
+            pendingUpdates.forEach(update -> update.accept(rebuilt));
+            pendingUpdates = null;
+            rebuilt.trimToSize();
+            data = rebuilt;
+            ready = true;
+            checkCapacity();
+            log.info("Item search index rebuilt: {} items, {} grams, ready: {}", data.items.size(), data.postings.size(), ready);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public long[] searchAvailable(String text) {
+        String query = normalize(text);
+        if (query.isEmpty()) {
+            return NO_IDS;
+        }
+        lock.readLock().lock();
+        try {
+            long[] candidates = data.findCandidates(query);
+            return Arrays.stream(candidates)
+                    .filter(itemId -> data.items.get(itemId).matches(query))
+                    .toArray();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public long[] searchAvailableByRelevance(String text, int offset, int limit) {
+        String query = normalize(text);
+        if (query.isEmpty() || limit <= 0) {
+            return NO_IDS;
+        }
+        int topK = offset + limit;
+        PriorityQueue<ScoredItem> top = new PriorityQueue<>(Math.min(topK, 1024), WORST_FIRST);
+        lock.readLock().lock();
+        try {
+            for (long itemId : data.findCandidates(query)) {
+                IndexedItem indexedItem = data.items.get(itemId);
+                if (!indexedItem.matches(query)) {
+                    continue;
+                }
+                ScoredItem scoredItem = new ScoredItem(itemId, score(indexedItem, query, data.commentCounts.getOrDefault(itemId, 0L)));
+                if (top.size() < topK) {
+                    top.add(scoredItem);
+                } else if (WORST_FIRST.compare(scoredItem, top.peek()) > 0) {
+                    top.poll();
+                    top.add(scoredItem);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        int pageSize = top.size() - offset;
+        if (pageSize <= 0) {
+            return NO_IDS;
+        }
+        long[] page = new long[pageSize];
+        for (int rank = top.size() - 1; rank >= offset; rank--) {
+            page[rank - offset] = top.poll().itemId;
+        }
+        return page;
+    }
+
+    private double score(IndexedItem indexedItem, String query, long commentCount) {
+        double score = NAME_WEIGHT * termFrequency(indexedItem.name, query)
+                + DESCRIPTION_WEIGHT * termFrequency(indexedItem.description, query);
+        if (useCommentCount) {
+            score += COMMENT_WEIGHT * Math.log1p(commentCount);
+        }
+        return score;
+    }
+
+    private static double termFrequency(String text, String query) {
+        int occurrences = 0;
+        for (int position = text.indexOf(query); position >= 0; position = text.indexOf(query, position + 1)) {
+            occurrences++;
+        }
+        return occurrences == 0 ? 0 : 1 + Math.log(occurrences);
+    }
+
+    private void update(Consumer<IndexData> update) {
+        lock.writeLock().lock();
+        try {
+            if (pendingUpdates != null) {
+                pendingUpdates.add(update);
+            }
+            if (ready) {
+                update.accept(data);
+                checkCapacity();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void checkCapacity() {
+        if (data.items.size() > maxItems) {
+            log.warn("Item search index exceeded {} items, falling back to database search", maxItems);
+            data = new IndexData();
+            ready = false;
+        }
+    }
+
+    private static String normalize(String text) {
+        return text == null ? "" : text.toUpperCase(Locale.ROOT);
+    }
+
+    private static long[] grams(String text) {
+        if (text.length() < GRAM_LENGTH) {
+            return NO_IDS;
+        }
+        return LongStream.range(0, text.length() - GRAM_LENGTH + 1)
+                .map(i -> gram(text, (int) i))
+                .distinct()
+                .toArray();
+    }
+
+    private static long gram(String text, int offset) {
+        return ((long) text.charAt(offset) << 32)
+                | ((long) text.charAt(offset + 1) << 16)
+                | text.charAt(offset + 2);
+    }
+
+    private static final class IndexData {
+        private final Map<Long, LongPostingList> postings = new HashMap<>();
+        private final Map<Long, IndexedItem> items = new HashMap<>();
+        private final Map<Long, Long> commentCounts = new HashMap<>();
+        private final LongPostingList itemIds = new LongPostingList();
+
+        private void put(Item item) {
+            remove(item.getId());
+            IndexedItem indexedItem = new IndexedItem(normalize(item.getName()), normalize(item.getDescription()),
+                    Boolean.TRUE.equals(item.getAvailable()));
+            items.put(item.getId(), indexedItem);
+            itemIds.add(item.getId());
+            for (long gram : indexedItem.grams()) {
+                postings.computeIfAbsent(gram, key -> new LongPostingList()).add(item.getId());
+            }
+        }
+
+        private void remove(long itemId) {
+            IndexedItem previous = items.remove(itemId);
+            if (previous == null) {
+                return;
+            }
+            itemIds.remove(itemId);
+            for (long gram : previous.grams()) {
+                LongPostingList postingList = postings.get(gram);
+                postingList.remove(itemId);
+                if (postingList.isEmpty()) {
+                    postings.remove(gram);
+                }
+            }
+        }
+
+        private long[] findCandidates(String query) {
+            long[] queryGrams = grams(query);
+            if (queryGrams.length == 0) {
+                return itemIds.toArray();
+            }
+            List<LongPostingList> postingLists = new ArrayList<>(queryGrams.length);
+            for (long gram : queryGrams) {
+                LongPostingList postingList = postings.get(gram);
+                if (postingList == null) {
+                    return NO_IDS;
+                }
+                postingLists.add(postingList);
+            }
+            postingLists.sort(Comparator.comparingInt(LongPostingList::size));
+            long[] candidates = postingLists.get(0).toArray();
+            for (int i = 1; i < postingLists.size() && candidates.length > 0; i++) {
+                candidates = LongPostingList.intersect(candidates, postingLists.get(i).toArray());
+            }
+            return candidates;
+        }
+
+        private void trimToSize() {
+            postings.values().forEach(LongPostingList::trimToSize);
+            itemIds.trimToSize();
+        }
+    }
+
+    private static final class IndexedItem {
+        private final String name;
+        private final String description;
+        private final boolean available;
+
+        private IndexedItem(String name, String description, boolean available) {
+            this.name = name;
+            this.description = description;
+            this.available = available;
+        }
+
+        private boolean matches(String query) {
+            return available && (name.contains(query) || description.contains(query));
+        }
+
+        private long[] grams() {
+            return LongStream.concat(LongStream.of(ItemSearchIndex.grams(name)), LongStream.of(ItemSearchIndex.grams(description)))
+                    .distinct()
+                    .toArray();
+        }
+    }
+
+    private static final class ScoredItem {
+        private final long itemId;
+        private final double score;
+
+        private ScoredItem(long itemId, double score) {
+            this.itemId = itemId;
+            this.score = score;
+        }
+    }
+}
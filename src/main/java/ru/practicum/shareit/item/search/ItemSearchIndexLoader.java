@@ -0,0 +1,68 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.CommentRepository;
+import ru.practicum.shareit.item.repository.ItemCommentCount;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import java.util.Map;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Component
+@EnableScheduling
+@RequiredArgsConstructor
+public class ItemSearchIndexLoader {
+    private static final int BATCH_SIZE = 1000;
+
+    private final ItemRepository itemRepository;
+    private final CommentRepository commentRepository;
+    private final ItemSearchIndex searchIndex;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildIndex() {
+        long itemCount = itemRepository.count();
+        if (itemCount > searchIndex.getMaxItems()) {
+            log.warn("Skipping item search index rebuild: {} items exceed the limit of {}", itemCount,
+                    searchIndex.getMaxItems());
+            return;
+        }
+        Map<Long, Long> commentCounts = commentRepository.countCommentsByItem().stream()
+                .collect(Collectors.toMap(ItemCommentCount::getItemId, ItemCommentCount::getCommentCount));
+        searchIndex.rebuild(this::forEachItem, commentCounts);
+    }
+
+    @Scheduled(initialDelayString = "${shareit.search.index.retry-interval:600000}",
+            fixedDelayString = "${shareit.search.index.retry-interval:600000}")
+    public void rebuildIfNotReady() {
+        if (!searchIndex.isReady()) {
+            rebuildIndex();
+        }
+    }
+
+    private void forEachItem(Predicate<Item> consumer) {
+        Pageable page = PageRequest.of(0, BATCH_SIZE, Sort.by("id"));
+        Page<Item> items;
+        do {
+            items = itemRepository.findAll(page);
+            for (Item item : items) {
+                if (!consumer.test(item)) {
+                    return;
+                }
+            }
+            page = items.nextPageable();
+        } while (items.hasNext());
+    }
+}
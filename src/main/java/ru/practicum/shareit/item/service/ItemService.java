@@ -1,8 +1,11 @@
 package ru.practicum.shareit.item.service;
 
+import ru.practicum.shareit.item.ItemSearchSort;
 import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface ItemService {
@@ -14,7 +17,9 @@ public interface ItemService {
 
     List<ItemDto> getAllItems(Long userId, Integer from, Integer size);
 
-    List<ItemDto> searchItems(String text, Integer from, Integer size);
+    List<ItemDto> searchItems(String text, Integer from, Integer size, ItemSearchSort sort);
+
+    ItemAvailabilityDto getItemAvailability(Long itemId, LocalDateTime from, LocalDateTime to);
 
     CommentDto addComment(CommentDto commentDto, Long itemId, Long userId);
 }
@@ -5,6 +5,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.booking.BookingStatus;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.repository.BookingRepository;
@@ -12,25 +13,40 @@ import ru.practicum.shareit.exceptions.ItemNotBookedByUserException;
 import ru.practicum.shareit.exceptions.ItemNotFoundException;
 import ru.practicum.shareit.exceptions.NotOwnerException;
 import ru.practicum.shareit.exceptions.UserNotFoundException;
+import ru.practicum.shareit.item.ItemSearchSort;
+import ru.practicum.shareit.item.availability.ItemAvailabilityCalendar;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.CommentMapper;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemMapper;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.CommentRepository;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.search.ItemSearchIndex;
+import ru.practicum.shareit.outbox.OutboxEventType;
+import ru.practicum.shareit.outbox.service.OutboxPublisher;
 import ru.practicum.shareit.request.dto.ItemRequestMapper;
+import ru.practicum.shareit.request.matching.RequestMatchingEngine;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.request.service.ItemRequestService;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.user.service.UserExistenceGuard;
+import ru.practicum.shareit.util.TransactionCallbacks;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
 
 @Service
 @AllArgsConstructor
@@ -45,8 +61,15 @@ public class ItemServiceImpl implements ItemService {
     private final CommentRepository commentRepository;
     private final ItemRequestService requestService;
 
+    private final ItemSearchIndex searchIndex;
+    private final ItemAvailabilityCalendar availabilityCalendar;
+    private final UserExistenceGuard userGuard;
+    private final RequestMatchingEngine requestMatching;
+    private final OutboxPublisher outbox;
+
 
     @Override
+    @Transactional
     public ItemDto addItem(ItemDto itemDto, Long userId) {
         Item item = ItemMapper.toItem(itemDto);
         item.setOwner(findUserById(userId));
@@ -54,11 +77,18 @@ public class ItemServiceImpl implements ItemService {
             ItemRequest itemRequest = ItemRequestMapper.toItemRequest(requestService.getRequestById(itemDto.getRequestId(), userId), userRepository.getReferenceById(userId));
             item.setItemRequest(itemRequest);
         }
-        item = itemRepository.save(item);
-        return ItemMapper.toItemDto(item);
+        Item saved = itemRepository.save(item);
+        TransactionCallbacks.afterCommit(() -> {
+            searchIndex.index(saved);
+            requestMatching.matchItem(saved);
+        });
+        ItemDto created = ItemMapper.toItemDto(saved);
+        outbox.record(OutboxEventType.ITEM_CREATED, saved.getId(), created);
+        return created;
     }
 
     @Override
+    @Transactional
     public ItemDto editItem(ItemDto itemDto, Long itemId, Long userId) {
         Item item = itemRepository.findById(itemId).orElseThrow(() -> new ItemNotFoundException("Item with id " + itemId + " not found"));
         if (!item.getOwner().getId().equals(userId)) {
@@ -73,8 +103,14 @@ public class ItemServiceImpl implements ItemService {
         if (itemDto.getAvailable() != null) {
             item.setAvailable(itemDto.getAvailable());
         }
-        return ItemMapper.toItemDto(itemRepository.save(item));
-
+        Item saved = itemRepository.save(item);
+        TransactionCallbacks.afterCommit(() -> {
+            searchIndex.index(saved);
+            requestMatching.matchItem(saved);
+        });
+        ItemDto updated = ItemMapper.toItemDto(saved);
+        outbox.record(OutboxEventType.ITEM_UPDATED, saved.getId(), updated);
+        return updated;
     }
 
     @Override
@@ -82,8 +118,7 @@ public class ItemServiceImpl implements ItemService {
         Item item = itemRepository.findById(itemId).orElseThrow(() -> new ItemNotFoundException("Item with id " + itemId + " not found"));
         List<Comment> comments = commentRepository.findAllByItemId(itemId);
         if (item.getOwner().getId().equals(userId)) {
-            List<Booking> bookings = getLastNextBookings(item);
-            return ItemMapper.toOwnerItemDto(item, bookings, comments);
+            return ItemMapper.toOwnerItemDto(item, getLastNextBookings(List.of(item)), CommentMapper.toDtoMapByItemId(comments));
         }
         return ItemMapper.toOutputItemDto(item, comments);
     }
@@ -97,27 +132,34 @@ public class ItemServiceImpl implements ItemService {
         Pageable page = PageRequest.of(from / size, size);
         List<Item> items = itemRepository.getAllByOwnerId(userId, page);
         List<ItemDto> itemDtos = new ArrayList<>();
-        List<Comment> comments = commentRepository.findByItemIn(items);
+        Map<Long, List<CommentDto>> comments = getCommentsByItemId(items);
+        Map<Long, List<Booking>> lastNextBookings = getLastNextBookings(items);
         for (Item item : items) {
-            List<Booking> bookings = getLastNextBookings(item);
-
-            itemDtos.add(ItemMapper.toOwnerItemDto(item, bookings, comments));
+            itemDtos.add(ItemMapper.toOwnerItemDto(item, lastNextBookings, comments));
         }
         return itemDtos;
     }
 
     @Override
-    public List<ItemDto> searchItems(String text, Integer from, Integer size) {
+    public List<ItemDto> searchItems(String text, Integer from, Integer size, ItemSearchSort sort) {
         if (from < 0 || size <= 0) {
             throw new IllegalArgumentException("Page number and size must be positive");
         }
         if (text == null || text.isEmpty()) {
             return Collections.emptyList();
         }
-        Pageable page = PageRequest.of(from / size, size);
-        List<Item> items = itemRepository.searchAvailableItemsByKeyword(text, page);
+        List<Item> items;
+        if (searchIndex.isReady()) {
+            int offset = from / size * size;
+            long[] itemIds = sort == ItemSearchSort.RELEVANCE
+                    ? searchIndex.searchAvailableByRelevance(text, offset, size)
+                    : LongStream.of(searchIndex.searchAvailable(text)).skip(offset).limit(size).toArray();
+            items = findAvailableItemsInOrder(LongStream.of(itemIds).boxed().collect(Collectors.toList()));
+        } else {
+            items = itemRepository.searchAvailableItemsByKeyword(text, PageRequest.of(from / size, size));
+        }
         List<ItemDto> itemDtos = new ArrayList<>();
-        List<Comment> comments = commentRepository.findByItemIn(items);
+        Map<Long, List<CommentDto>> comments = getCommentsByItemId(items);
         for (Item item : items) {
             itemDtos.add(ItemMapper.toOutputItemDto(item, comments));
         }
@@ -125,6 +167,18 @@ public class ItemServiceImpl implements ItemService {
     }
 
     @Override
+    public ItemAvailabilityDto getItemAvailability(Long itemId, LocalDateTime from, LocalDateTime to) {
+        if (!from.isBefore(to)) {
+            throw new IllegalArgumentException("Availability range start must be before its end");
+        }
+        if (!itemRepository.existsById(itemId)) {
+            throw new ItemNotFoundException("Item with id " + itemId + " not found");
+        }
+        return availabilityCalendar.getAvailability(itemId, from, to);
+    }
+
+    @Override
+    @Transactional
     public CommentDto addComment(CommentDto commentDto, Long itemId, Long userId) {
         Item item = itemRepository.findById(itemId).orElseThrow(() -> new ItemNotFoundException("Item with id " + itemId + " not found"));
         checkIfUserIsBooked(itemId, userId, item);
@@ -133,7 +187,11 @@ public class ItemServiceImpl implements ItemService {
         comment.setAuthor(findUserById(userId));
         comment.setCreated(LocalDateTime.now());
         log.info("Comment: {}", comment);
-        return CommentMapper.toDto(commentRepository.save(comment));
+        comment = commentRepository.save(comment);
+        TransactionCallbacks.afterCommit(() -> searchIndex.addComment(itemId));
+        CommentDto created = CommentMapper.toDto(comment);
+        outbox.record(OutboxEventType.COMMENT_ADDED, itemId, created);
+        return created;
     }
 
     private void checkIfUserIsBooked(Long itemId, Long bookerId, Item item) {
@@ -149,20 +207,43 @@ public class ItemServiceImpl implements ItemService {
     }
 
     private void checkIfUserExists(Long userId) {
-        if (!userRepository.existsById(userId)) {
+        if (!userGuard.exists(userId)) {
             throw new UserNotFoundException("User with id " + userId + " not found");
         }
     }
 
-    private List<Booking> getLastNextBookings(Item item) {
+    private List<Item> findAvailableItemsInOrder(List<Long> itemIds) {
+        if (itemIds.isEmpty()) {
+            return Collections.emptyList();
+        }
+        Map<Long, Item> itemsById = itemRepository.findAllById(itemIds).stream()
+                .filter(Item::getAvailable)
+                .collect(Collectors.toMap(Item::getId, Function.identity()));
+        return itemIds.stream()
+                .map(itemsById::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+
+    private Map<Long, List<CommentDto>> getCommentsByItemId(List<Item> items) {
+        if (items.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        return CommentMapper.toDtoMapByItemId(commentRepository.findByItemIn(items));
+    }
+
+    private Map<Long, List<Booking>> getLastNextBookings(List<Item> items) {
+        Map<Long, List<Booking>> lastNextBookings = new HashMap<>();
+        if (items.isEmpty()) {
+            return lastNextBookings;
+        }
         LocalDateTime now = LocalDateTime.now();
-        Optional<Booking> lastBooking = bookingRepository.getLastItemBooking(item.getId(), now);
-        Optional<Booking> nextBooking = bookingRepository.getNextItemBooking(item.getId(), now);
-        List<Booking> bookings = new ArrayList<>();
-        bookings.add(null);
-        bookings.add(null);
-        lastBooking.ifPresent(booking -> bookings.set(0, booking));
-        nextBooking.ifPresent(booking -> bookings.set(1, booking));
-        return bookings;
+        List<Long> itemIds = items.stream().map(Item::getId).collect(Collectors.toList());
+        for (Booking booking : bookingRepository.getLastNextItemBookings(itemIds, now)) {
+            List<Booking> bookings = lastNextBookings.computeIfAbsent(booking.getItem().getId(),
+                    itemId -> Arrays.asList(null, null));
+            bookings.set(booking.getStart().isBefore(now) ? 0 : 1, booking);
+        }
+        return lastNextBookings;
     }
 }
@@ -0,0 +1,22 @@
+package ru.practicum.shareit.outbox;
+
+public enum OutboxEventType {
+    BOOKING_CREATED("booking"),
+    BOOKING_APPROVED("booking"),
+    BOOKING_REJECTED("booking"),
+    BOOKING_EXPIRED("booking"),
+    ITEM_CREATED("item"),
+    ITEM_UPDATED("item"),
+    COMMENT_ADDED("item"),
+    REQUEST_CREATED("request");
+
+    private final String aggregateType;
+
+    OutboxEventType(String aggregateType) {
+        this.aggregateType = aggregateType;
+    }
+
+    public String getAggregateType() {
+        return aggregateType;
+    }
+}
@@ -0,0 +1,22 @@
+package ru.practicum.shareit.outbox.dto;
+
+import lombok.Value;
+import ru.practicum.shareit.outbox.OutboxEventType;
+import ru.practicum.shareit.outbox.model.OutboxEvent;
+
+import java.time.LocalDateTime;
+
+@Value
+public class OutboxEventDto {
+    Long id;
+    String aggregateType;
+    Long aggregateId;
+    OutboxEventType eventType;
+    String payload;
+    LocalDateTime created;
+
+    public static OutboxEventDto toDto(OutboxEvent event) {
+        return new OutboxEventDto(event.getId(), event.getAggregateType(), event.getAggregateId(), event.getEventType(),
+                event.getPayload(), event.getCreated());
+    }
+}
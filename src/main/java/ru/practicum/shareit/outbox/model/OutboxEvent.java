@@ -0,0 +1,33 @@
+package ru.practicum.shareit.outbox.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import ru.practicum.shareit.outbox.OutboxEventType;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "outbox")
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class OutboxEvent {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "outbox_seq")
+    @SequenceGenerator(name = "outbox_seq", sequenceName = "outbox_seq", allocationSize = 50)
+    private Long id;
+    @Column(name = "aggregate_type")
+    private String aggregateType;
+    @Column(name = "aggregate_id")
+    private Long aggregateId;
+    @Enumerated(EnumType.STRING)
+    @Column(name = "event_type")
+    private OutboxEventType eventType;
+    private String payload;
+    private LocalDateTime created;
+    private LocalDateTime published;
+}
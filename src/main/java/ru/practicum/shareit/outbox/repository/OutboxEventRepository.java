@@ -0,0 +1,26 @@
+package ru.practicum.shareit.outbox.repository;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.outbox.model.OutboxEvent;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+    List<OutboxEvent> findAllByPublishedIsNullOrderByIdAsc(Pageable page);
+
+    @Transactional
+    @Modifying
+    @Query("update OutboxEvent e set e.published = ?2 where e.id in ?1")
+    int markPublished(Collection<Long> ids, LocalDateTime published);
+
+    @Transactional
+    @Modifying
+    @Query("delete from OutboxEvent e where e.published < ?1")
+    int deletePublishedBefore(LocalDateTime published);
+}
@@ -0,0 +1,70 @@
+package ru.practicum.shareit.outbox.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.outbox.dto.OutboxEventDto;
+import ru.practicum.shareit.outbox.model.OutboxEvent;
+import ru.practicum.shareit.outbox.repository.OutboxEventRepository;
+import ru.practicum.shareit.outbox.sink.OutboxSink;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Component
+@EnableScheduling
+@ConditionalOnProperty(name = "shareit.outbox.relay.enabled", havingValue = "true", matchIfMissing = true)
+public class OutboxRelay {
+    private final OutboxEventRepository outboxEventRepository;
+    private final List<OutboxSink> sinks;
+    private final int batchSize;
+    private final Duration retention;
+
+    @Autowired
+    public OutboxRelay(OutboxEventRepository outboxEventRepository, List<OutboxSink> sinks,
+                       @Value("${shareit.outbox.relay.batch-size:500}") int batchSize,
+                       @Value("${shareit.outbox.retention:7d}") Duration retention) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.sinks = sinks;
+        this.batchSize = batchSize;
+        this.retention = retention;
+    }
+
+    @Scheduled(fixedDelayString = "${shareit.outbox.relay.interval:1000}")
+    public void relay() {
+        List<OutboxEvent> batch;
+        do {
+            batch = outboxEventRepository.findAllByPublishedIsNullOrderByIdAsc(PageRequest.of(0, batchSize));
+            if (batch.isEmpty()) {
+                return;
+            }
+            List<OutboxEventDto> events = batch.stream()
+                    .map(OutboxEventDto::toDto)
+                    .collect(Collectors.toList());
+            try {
+                sinks.forEach(sink -> sink.publish(events));
+            } catch (RuntimeException e) {
+                log.warn("Outbox relay failed, {} events will be retried", events.size(), e);
+                return;
+            }
+            outboxEventRepository.markPublished(events.stream().map(OutboxEventDto::getId).collect(Collectors.toList()),
+                    LocalDateTime.now());
+        } while (batch.size() == batchSize);
+    }
+
+    @Scheduled(cron = "${shareit.outbox.cleanup.cron:0 0 * * * *}")
+    public void cleanup() {
+        int deleted = outboxEventRepository.deletePublishedBefore(LocalDateTime.now().minus(retention));
+        if (deleted > 0) {
+            log.info("Removed {} published outbox events", deleted);
+        }
+    }
+}
@@ -1,7 +1,9 @@
 package ru.practicum.shareit.request;
 
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.web.bind.annotation.*;
+import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.service.ItemRequestService;
 
@@ -11,6 +13,7 @@ import java.util.List;
 
 
 @RestController
+@Timed
 @RequestMapping(path = "/requests")
 public class ItemRequestController {
     private final ItemRequestService itemRequestService;
@@ -37,6 +40,12 @@ public class ItemRequestController {
         return itemRequestService.getRequestById(requestId, userId);
     }
 
+    @GetMapping("/{requestId}/suggestions")
+    public List<ItemDto> getSuggestions(@RequestHeader("X-Sharer-User-Id") @NotNull Long userId,
+                                        @PathVariable Long requestId) {
+        return itemRequestService.getSuggestions(requestId, userId);
+    }
+
     @GetMapping("/all")
     public List<ItemRequestDto> getAllRequests(@RequestHeader("X-Sharer-User-Id") @NotNull Long userId,
                                                @RequestParam(defaultValue = "0") Integer from,
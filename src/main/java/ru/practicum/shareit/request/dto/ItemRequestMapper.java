@@ -1,9 +1,17 @@
 package ru.practicum.shareit.request.dto;
 
+import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.request.model.ItemRequestFeedRow;
 import ru.practicum.shareit.user.model.User;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 
 public class ItemRequestMapper {
@@ -17,6 +25,37 @@ public class ItemRequestMapper {
         );
     }
 
+    public static List<ItemRequestDto> toDtoList(List<ItemRequestFeedRow> rows) {
+        Map<Long, ItemRequestFeedRow> requests = new LinkedHashMap<>();
+        Map<Long, Set<ItemDto>> itemsByRequestId = new HashMap<>();
+        for (ItemRequestFeedRow row : rows) {
+            requests.putIfAbsent(row.getRequestId(), row);
+            Set<ItemDto> items = itemsByRequestId.computeIfAbsent(row.getRequestId(), id -> new HashSet<>());
+            if (row.getItemId() != null) {
+                items.add(toItemDto(row));
+            }
+        }
+        List<ItemRequestDto> result = new ArrayList<>(requests.size());
+        for (ItemRequestFeedRow request : requests.values()) {
+            result.add(new ItemRequestDto(
+                    request.getRequestId(),
+                    request.getDescription(),
+                    request.getCreated(),
+                    itemsByRequestId.get(request.getRequestId())
+            ));
+        }
+        return result;
+    }
+
+    private static ItemDto toItemDto(ItemRequestFeedRow row) {
+        ItemDto itemDto = new ItemDto();
+        itemDto.setId(row.getItemId());
+        itemDto.setName(row.getItemName());
+        itemDto.setDescription(row.getItemDescription());
+        itemDto.setAvailable(row.getItemAvailable());
+        itemDto.setRequestId(row.getRequestId());
+        return itemDto;
+    }
 
     public static ItemRequest toItemRequest(ItemRequestDto itemRequestDto, User requester) {
         return new ItemRequest(
@@ -0,0 +1,245 @@
+package ru.practicum.shareit.request.matching;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.model.ItemRequest;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+@Slf4j
+@Component
+public class RequestMatchingEngine {
+    private static final int MIN_TERM_LENGTH = 3;
+    private static final int TERM_PREFIX_LENGTH = 5;
+    private static final Comparator<RequestSuggestion> BEST_FIRST = Comparator.comparingDouble(RequestSuggestion::getScore)
+            .reversed()
+            .thenComparing(RequestSuggestion::getItemId);
+
+    private final int maxSuggestions;
+    private final int maxTermRequests;
+    private final int maxTermItems;
+    private final double minScore;
+    private final Map<Long, IndexedRequest> requests;
+    private final Map<String, Set<Long>> postings = new HashMap<>();
+    private final Map<Long, Set<Long>> requestsByItem = new HashMap<>();
+    private final Object lock = new Object();
+
+    public RequestMatchingEngine(@Value("${shareit.matching.max-requests:100000}") int maxRequests,
+                                 @Value("${shareit.matching.max-suggestions:20}") int maxSuggestions,
+                                 @Value("${shareit.matching.max-term-requests:10000}") int maxTermRequests,
+                                 @Value("${shareit.matching.max-term-items:1000}") int maxTermItems,
+                                 @Value("${shareit.matching.min-score:0.3}") double minScore) {
+        this.maxSuggestions = maxSuggestions;
+        this.maxTermRequests = maxTermRequests;
+        this.maxTermItems = maxTermItems;
+        this.minScore = minScore;
+        this.requests = new LinkedHashMap<>(16, 0.75f, false) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, IndexedRequest> eldest) {
+                if (size() <= maxRequests) {
+                    return false;
+                }
+                unindex(eldest.getKey(), eldest.getValue());
+                return true;
+            }
+        };
+    }
+
+    public void indexRequest(ItemRequest itemRequest) {
+        Set<String> terms = terms(itemRequest.getDescription());
+        synchronized (lock) {
+            removeRequest(itemRequest.getId());
+            for (String term : terms) {
+                postings.computeIfAbsent(term, key -> new HashSet<>()).add(itemRequest.getId());
+            }
+            requests.put(itemRequest.getId(), new IndexedRequest(itemRequest.getRequester().getId(), terms));
+        }
+    }
+
+    public int getMaxTermItems() {
+        return maxTermItems;
+    }
+
+    /**
+     * Scores existing items against one indexed request. Callers pass the items that share at least one
+     * term with it, so a new request gets the same suggestions it would get after a restart.
+     */
+    public void matchRequest(long requestId, Collection<Item> items) {
+        Map<Item, Set<String>> itemTerms = new LinkedHashMap<>();
+        for (Item item : items) {
+            if (Boolean.TRUE.equals(item.getAvailable())) {
+                itemTerms.put(item, terms(item.getName() + " " + item.getDescription()));
+            }
+        }
+        synchronized (lock) {
+            IndexedRequest request = requests.get(requestId);
+            if (request == null) {
+                return;
+            }
+            itemTerms.forEach((item, terms) -> {
+                if (request.requesterId == item.getOwner().getId()) {
+                    return;
+                }
+                double score = score(request, terms);
+                if (score >= minScore && request.offer(new RequestSuggestion(item.getId(), score), maxSuggestions)) {
+                    requestsByItem.computeIfAbsent(item.getId(), key -> new HashSet<>()).add(requestId);
+                }
+            });
+        }
+    }
+
+    public void removeRequest(long requestId) {
+        synchronized (lock) {
+            IndexedRequest removed = requests.remove(requestId);
+            if (removed != null) {
+                unindex(requestId, removed);
+            }
+        }
+    }
+
+    public void matchItem(Item item) {
+        Set<String> itemTerms = Boolean.TRUE.equals(item.getAvailable())
+                ? terms(item.getName() + " " + item.getDescription())
+                : Set.of();
+        synchronized (lock) {
+            Set<Long> matched = new HashSet<>();
+            for (Long requestId : candidates(itemTerms)) {
+                IndexedRequest request = requests.get(requestId);
+                if (request.requesterId == item.getOwner().getId()) {
+                    continue;
+                }
+                double score = score(request, itemTerms);
+                if (score >= minScore && request.offer(new RequestSuggestion(item.getId(), score), maxSuggestions)) {
+                    matched.add(requestId);
+                }
+            }
+            Set<Long> previous = requestsByItem.remove(item.getId());
+            if (previous != null) {
+                for (Long requestId : previous) {
+                    IndexedRequest request = requests.get(requestId);
+                    if (request != null && !matched.contains(requestId)) {
+                        request.withdraw(item.getId());
+                    }
+                }
+            }
+            if (!matched.isEmpty()) {
+                requestsByItem.put(item.getId(), matched);
+            }
+        }
+    }
+
+    public List<RequestSuggestion> getSuggestions(long requestId) {
+        synchronized (lock) {
+            IndexedRequest request = requests.get(requestId);
+            return request == null ? List.of() : new ArrayList<>(request.suggestions);
+        }
+    }
+
+    public void clear() {
+        synchronized (lock) {
+            requests.clear();
+            postings.clear();
+            requestsByItem.clear();
+        }
+    }
+
+    private Set<Long> candidates(Set<String> itemTerms) {
+        Set<Long> candidates = new HashSet<>();
+        for (String term : itemTerms) {
+            Set<Long> requestIds = postings.get(term);
+            if (requestIds != null && requestIds.size() <= maxTermRequests) {
+                candidates.addAll(requestIds);
+            }
+        }
+        return candidates;
+    }
+
+    private double score(IndexedRequest request, Set<String> itemTerms) {
+        double matched = 0;
+        double total = 0;
+        for (String term : request.terms) {
+            double weight = Math.log1p((double) requests.size() / postings.get(term).size());
+            total += weight;
+            if (itemTerms.contains(term)) {
+                matched += weight;
+            }
+        }
+        return total == 0 ? 0 : matched / total;
+    }
+
+    private void unindex(long requestId, IndexedRequest request) {
+        for (String term : request.terms) {
+            Set<Long> requestIds = postings.get(term);
+            requestIds.remove(requestId);
+            if (requestIds.isEmpty()) {
+                postings.remove(term);
+            }
+        }
+        for (RequestSuggestion suggestion : request.suggestions) {
+            Set<Long> itemRequests = requestsByItem.get(suggestion.getItemId());
+            if (itemRequests != null) {
+                itemRequests.remove(requestId);
+                if (itemRequests.isEmpty()) {
+                    requestsByItem.remove(suggestion.getItemId());
+                }
+            }
+        }
+    }
+
+    public static Set<String> terms(String text) {
+        Set<String> terms = new LinkedHashSet<>();
+        if (text == null) {
+            return terms;
+        }
+        for (String word : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+            if (word.length() >= MIN_TERM_LENGTH) {
+                terms.add(word.length() > TERM_PREFIX_LENGTH ? word.substring(0, TERM_PREFIX_LENGTH) : word);
+            }
+        }
+        return terms;
+    }
+
+    private static final class IndexedRequest {
+        private final long requesterId;
+        private final Set<String> terms;
+        private final List<RequestSuggestion> suggestions = new ArrayList<>();
+
+        private IndexedRequest(long requesterId, Set<String> terms) {
+            this.requesterId = requesterId;
+            this.terms = terms;
+        }
+
+        private boolean offer(RequestSuggestion suggestion, int limit) {
+            withdraw(suggestion.getItemId());
+            if (suggestions.size() >= limit
+                    && BEST_FIRST.compare(suggestion, suggestions.get(suggestions.size() - 1)) >= 0) {
+                return false;
+            }
+            int position = 0;
+            while (position < suggestions.size() && BEST_FIRST.compare(suggestions.get(position), suggestion) < 0) {
+                position++;
+            }
+            suggestions.add(position, suggestion);
+            if (suggestions.size() > limit) {
+                suggestions.remove(suggestions.size() - 1);
+            }
+            return true;
+        }
+
+        private void withdraw(long itemId) {
+            suggestions.removeIf(suggestion -> suggestion.getItemId() == itemId);
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package ru.practicum.shareit.request.matching;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.request.repository.ItemRequestRepository;
+
+import java.util.function.Consumer;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RequestMatchingIndexLoader {
+    private static final int BATCH_SIZE = 1000;
+
+    private final ItemRequestRepository itemRequestRepository;
+    private final ItemRepository itemRepository;
+    private final RequestMatchingEngine matchingEngine;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildIndex() {
+        matchingEngine.clear();
+        forEach(itemRequestRepository, matchingEngine::indexRequest);
+        forEach(itemRepository, matchingEngine::matchItem);
+        log.info("Request matching index rebuilt");
+    }
+
+    private static <T> void forEach(JpaRepository<T, Long> repository, Consumer<T> consumer) {
+        Pageable page = PageRequest.of(0, BATCH_SIZE, Sort.by("id"));
+        Page<T> entities;
+        do {
+            entities = repository.findAll(page);
+            entities.forEach(consumer);
+            page = entities.nextPageable();
+        } while (entities.hasNext());
+    }
+}
@@ -0,0 +1,9 @@
+package ru.practicum.shareit.request.matching;
+
+import lombok.Value;
+
+@Value
+public class RequestSuggestion {
+    long itemId;
+    double score;
+}
@@ -0,0 +1,19 @@
+package ru.practicum.shareit.request.model;
+
+import java.time.LocalDateTime;
+
+public interface ItemRequestFeedRow {
+    Long getRequestId();
+
+    String getDescription();
+
+    LocalDateTime getCreated();
+
+    Long getItemId();
+
+    String getItemName();
+
+    String getItemDescription();
+
+    Boolean getItemAvailable();
+}
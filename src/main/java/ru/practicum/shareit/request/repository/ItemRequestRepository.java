@@ -1,17 +1,28 @@
 package ru.practicum.shareit.request.repository;
 
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.request.model.ItemRequestFeedRow;
 
 import java.util.List;
 
 public interface ItemRequestRepository extends JpaRepository<ItemRequest, Long> {
-    List<ItemRequest> findAllByRequester_Id(long requesterId, Sort sort);
-
-    Page<ItemRequest> findAllByRequesterIdIsNot(Long userId, Pageable page);
-
+    @Query(value = "select r.id as requestId, r.description as description, r.created as created, " +
+            "i.id as itemId, i.name as itemName, i.description as itemDescription, i.available as itemAvailable " +
+            "from requests r " +
+            "left join items i on i.request_id = r.id " +
+            "where r.requester_id = :requesterId " +
+            "order by r.created desc, r.id desc, i.id", nativeQuery = true)
+    List<ItemRequestFeedRow> getRequesterFeed(@Param("requesterId") long requesterId);
 
+    @Query(value = "select r.id as requestId, r.description as description, r.created as created, " +
+            "i.id as itemId, i.name as itemName, i.description as itemDescription, i.available as itemAvailable " +
+            "from (select * from requests where requester_id <> :userId " +
+            "order by created desc, id desc limit :limit offset :offset) r " +
+            "left join items i on i.request_id = r.id " +
+            "order by r.created desc, r.id desc, i.id", nativeQuery = true)
+    List<ItemRequestFeedRow> getOthersFeed(@Param("userId") long userId, @Param("limit") int limit,
+                                           @Param("offset") long offset);
 }
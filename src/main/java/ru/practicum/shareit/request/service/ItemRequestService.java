@@ -1,5 +1,6 @@
 package ru.practicum.shareit.request.service;
 
+import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 
 import java.util.List;
@@ -13,4 +14,6 @@ public interface ItemRequestService {
 
     List<ItemRequestDto> getAllUserRequests(Long requesterId);
 
+    List<ItemDto> getSuggestions(long requestId, long userId);
+
 }
@@ -3,24 +3,38 @@ package ru.practicum.shareit.request.service;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.exceptions.ItemNotFoundException;
+import ru.practicum.shareit.exceptions.NotOwnerException;
 import ru.practicum.shareit.exceptions.UserNotFoundException;
+import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemMapper;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.search.ItemSearchIndex;
+import ru.practicum.shareit.outbox.OutboxEventType;
+import ru.practicum.shareit.outbox.service.OutboxPublisher;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.dto.ItemRequestMapper;
+import ru.practicum.shareit.request.matching.RequestMatchingEngine;
+import ru.practicum.shareit.request.matching.RequestSuggestion;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.request.repository.ItemRequestRepository;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.user.service.UserExistenceGuard;
+import ru.practicum.shareit.util.TransactionCallbacks;
 
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.LongStream;
 
 @Service
 @Slf4j
@@ -29,8 +43,13 @@ public class ItemRequestServiceImpl implements ItemRequestService {
     private final UserRepository userRepository;
     private final ItemRequestRepository itemRequestRepository;
     private final ItemRepository itemRepository;
+    private final UserExistenceGuard userGuard;
+    private final RequestMatchingEngine matchingEngine;
+    private final ItemSearchIndex searchIndex;
+    private final OutboxPublisher outbox;
 
     @Override
+    @Transactional
     public ItemRequestDto createRequest(ItemRequestDto itemRequestDto, long userId) {
         User requester = userRepository.findById(userId).orElseThrow(() -> new UserNotFoundException("User with id " + userId + " not found"));
         ItemRequest itemRequest = ItemRequestMapper.toItemRequest(itemRequestDto, requester);
@@ -38,7 +57,14 @@ public class ItemRequestServiceImpl implements ItemRequestService {
 
         log.info("Saving item request: {}", itemRequest);
 
-        return ItemRequestMapper.toDto(itemRequestRepository.save(itemRequest));
+        ItemRequest saved = itemRequestRepository.save(itemRequest);
+        TransactionCallbacks.afterCommit(() -> {
+            matchingEngine.indexRequest(saved);
+            matchingEngine.matchRequest(saved.getId(), findCandidateItems(saved));
+        });
+        ItemRequestDto created = ItemRequestMapper.toDto(saved);
+        outbox.record(OutboxEventType.REQUEST_CREATED, saved.getId(), created);
+        return created;
     }
 
     @Override
@@ -47,15 +73,8 @@ public class ItemRequestServiceImpl implements ItemRequestService {
             throw new IllegalArgumentException("Page number and size must be positive");
         }
         checkIfUserExists(userId);
-        Pageable page = PageRequest.of(from / size, size);
-        List<ItemRequest> itemRequests = itemRequestRepository.findAllByRequesterIdIsNot(userId, page).getContent();
-        List<Item> items = itemRepository.getAllByItemRequestIn(itemRequests, page);
-
-        for (ItemRequest itemRequest : itemRequests) {
-            List<Item> itemsForRequest = items.stream().filter(item -> item.getItemRequest().getId().equals(itemRequest.getId())).collect(Collectors.toList());
-            itemRequest.setItems(new HashSet<>(ItemMapper.toDtoList(itemsForRequest)));
-        }
-        return itemRequests.stream().map(ItemRequestMapper::toDto).collect(Collectors.toList());
+        long offset = (long) (from / size) * size;
+        return ItemRequestMapper.toDtoList(itemRequestRepository.getOthersFeed(userId, size, offset));
     }
 
     @Override
@@ -69,22 +88,52 @@ public class ItemRequestServiceImpl implements ItemRequestService {
     @Override
     public List<ItemRequestDto> getAllUserRequests(Long requesterId) {
         checkIfUserExists(requesterId);
+        return ItemRequestMapper.toDtoList(itemRequestRepository.getRequesterFeed(requesterId));
+    }
 
-        Sort sort = Sort.by(Sort.Direction.DESC, "created");
-
-        List<ItemRequest> itemRequests = itemRequestRepository.findAllByRequester_Id(requesterId, sort);
-        List<Item> items = itemRepository.findAllByItemRequestIn(itemRequests);
-
-        for (ItemRequest itemRequest : itemRequests) {
-            List<Item> itemsForRequest = items.stream().filter(item -> item.getItemRequest().getId().equals(itemRequest.getId())).collect(Collectors.toList());
-            itemRequest.setItems(new HashSet<>(ItemMapper.toDtoList(itemsForRequest)));
+    @Override
+    public List<ItemDto> getSuggestions(long requestId, long userId) {
+        checkIfUserExists(userId);
+        ItemRequest itemRequest = itemRequestRepository.findById(requestId).orElseThrow(() -> new ItemNotFoundException("Request with id " + requestId + " not found"));
+        if (itemRequest.getRequester().getId() != userId) {
+            throw new NotOwnerException("User with id " + userId + " is not the author of request with id " + requestId);
+        }
+        List<Long> itemIds = matchingEngine.getSuggestions(requestId).stream()
+                .map(RequestSuggestion::getItemId)
+                .collect(Collectors.toList());
+        if (itemIds.isEmpty()) {
+            return List.of();
         }
+        Map<Long, Item> items = itemRepository.findAllById(itemIds).stream()
+                .collect(Collectors.toMap(Item::getId, Function.identity()));
+        return itemIds.stream()
+                .map(items::get)
+                .filter(Objects::nonNull)
+                .map(ItemMapper::toItemDto)
+                .collect(Collectors.toList());
+    }
 
-        return itemRequests.stream().map(ItemRequestMapper::toDto).collect(Collectors.toList());
+    private List<Item> findCandidateItems(ItemRequest itemRequest) {
+        int maxTermItems = matchingEngine.getMaxTermItems();
+        Set<Long> itemIds = new LinkedHashSet<>();
+        for (String term : RequestMatchingEngine.terms(itemRequest.getDescription())) {
+            if (searchIndex.isReady()) {
+                long[] matches = searchIndex.searchAvailable(term);
+                if (matches.length <= maxTermItems) {
+                    LongStream.of(matches).forEach(itemIds::add);
+                }
+            } else {
+                List<Item> matches = itemRepository.searchAvailableItemsByKeyword(term, PageRequest.of(0, maxTermItems + 1));
+                if (matches.size() <= maxTermItems) {
+                    matches.forEach(item -> itemIds.add(item.getId()));
+                }
+            }
+        }
+        return itemIds.isEmpty() ? List.of() : itemRepository.findAllById(itemIds);
     }
 
     private void checkIfUserExists(Long userId) {
-        if (!userRepository.existsById(userId)) {
+        if (!userGuard.exists(userId)) {
             throw new UserNotFoundException("User with id " + userId + " not found");
         }
     }
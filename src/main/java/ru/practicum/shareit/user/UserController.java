@@ -1,5 +1,6 @@
 package ru.practicum.shareit.user;
 
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.user.model.User;
@@ -9,6 +10,7 @@ import javax.validation.Valid;
 import java.util.Collection;
 
 @RestController
+@Timed
 @RequestMapping(path = "/users")
 public class UserController {
 
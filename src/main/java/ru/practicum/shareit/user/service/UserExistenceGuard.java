@@ -0,0 +1,71 @@
+package ru.practicum.shareit.user.service;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+@Component
+@RequiredArgsConstructor
+public class UserExistenceGuard implements MeterBinder {
+    private static final int WORD_SHIFT = 6;
+
+    private final UserRepository userRepository;
+    private final ConcurrentMap<Long, AtomicLong> knownUsers = new ConcurrentHashMap<>();
+    private final AtomicLong removals = new AtomicLong();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public boolean exists(long userId) {
+        if (isKnown(userId)) {
+            hits.increment();
+            return true;
+        }
+        misses.increment();
+        long observedRemovals = removals.get();
+        boolean exists = userRepository.existsById(userId);
+        if (exists && removals.get() == observedRemovals) {
+            added(userId);
+        }
+        return exists;
+    }
+
+    public void added(long userId) {
+        knownUsers.computeIfAbsent(userId >>> WORD_SHIFT, word -> new AtomicLong())
+                .accumulateAndGet(bit(userId), (word, bit) -> word | bit);
+    }
+
+    public void removed(long userId) {
+        removals.incrementAndGet();
+        AtomicLong word = knownUsers.get(userId >>> WORD_SHIFT);
+        if (word != null) {
+            word.accumulateAndGet(bit(userId), (value, bit) -> value & ~bit);
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("shareit.cache.gets", hits, LongAdder::sum)
+                .tags("cache", "user-existence", "result", "hit")
+                .register(registry);
+        FunctionCounter.builder("shareit.cache.gets", misses, LongAdder::sum)
+                .tags("cache", "user-existence", "result", "miss")
+                .register(registry);
+    }
+
+    private boolean isKnown(long userId) {
+        AtomicLong word = knownUsers.get(userId >>> WORD_SHIFT);
+        return word != null && (word.get() & bit(userId)) != 0;
+    }
+
+    private static long bit(long userId) {
+        return 1L << (userId & 63);
+    }
+}
@@ -11,15 +11,19 @@ import java.util.Collection;
 @Service
 public class UserServiceImpl implements UserService {
     private final UserRepository userRepository;
+    private final UserExistenceGuard userGuard;
 
     @Autowired
-    public UserServiceImpl(UserRepository userRepository) {
+    public UserServiceImpl(UserRepository userRepository, UserExistenceGuard userGuard) {
         this.userRepository = userRepository;
+        this.userGuard = userGuard;
     }
 
     @Override
     public User addUser(User user) {
-        return userRepository.save(user);
+        User savedUser = userRepository.save(user);
+        userGuard.added(savedUser.getId());
+        return savedUser;
     }
 
     @Override
@@ -43,6 +47,7 @@ public class UserServiceImpl implements UserService {
     @Override
     public void deleteUser(Long id) {
         userRepository.deleteById(id);
+        userGuard.removed(id);
     }
 
     @Override
@@ -1,4 +1,6 @@
-insert into bookings (start_time, end_time, item_id, booker_id, status)
-values ('2024-01-17 23:15:42', '2025-01-17 23:15:43', 1, 2, 'WAITING'),
-       ('2020-01-17 23:15:42', '2020-01-17 23:15:43', 2, 2, 'APPROVED'),
-       ('2024-01-17 23:15:42', '2025-01-17 23:15:43', 3, 2, 'REJECTED');
\ No newline at end of file
+insert into bookings (id, start_time, end_time, item_id, booker_id, status)
+values (1, '2024-01-17 23:15:42', '2025-01-17 23:15:43', 1, 2, 'WAITING'),
+       (2, '2020-01-17 23:15:42', '2020-01-17 23:15:43', 2, 2, 'APPROVED'),
+       (3, '2024-01-17 23:15:42', '2025-01-17 23:15:43', 3, 2, 'REJECTED');
+
+ALTER SEQUENCE bookings_seq RESTART WITH 1000;
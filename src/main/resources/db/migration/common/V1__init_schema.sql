@@ -1,8 +1,12 @@
-DROP TABLE IF EXISTS users, items, bookings, comments, requests;
+CREATE SEQUENCE IF NOT EXISTS users_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS requests_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS items_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS bookings_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS comments_seq START WITH 1 INCREMENT BY 50;
 
 CREATE TABLE IF NOT EXISTS users
 (
-    id    BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL,
+    id    BIGINT                                  NOT NULL,
     name  VARCHAR(64)                             NOT NULL,
     email VARCHAR(64) UNIQUE                      NOT NULL,
     CONSTRAINT pk_user PRIMARY KEY (id)
@@ -10,7 +14,7 @@ CREATE TABLE IF NOT EXISTS users
 
 CREATE TABLE IF NOT EXISTS requests
 (
-    id        BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL,
+    id        BIGINT                                  NOT NULL,
     description      VARCHAR(512)                            NOT NULL,
     requester_id    BIGINT                                   NOT NULL,
     created   TIMESTAMP WITHOUT TIME ZONE,
@@ -20,7 +24,7 @@ CREATE TABLE IF NOT EXISTS requests
 
 CREATE TABLE IF NOT EXISTS items
 (
-    id          BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL,
+    id          BIGINT                                  NOT NULL,
     name        VARCHAR(64)                             NOT NULL,
     description VARCHAR(64)                             NOT NULL,
     available   BOOLEAN                                 NOT NULL,
@@ -33,7 +37,7 @@ CREATE TABLE IF NOT EXISTS items
 
 CREATE TABLE IF NOT EXISTS bookings
 (
-    id         BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL,
+    id         BIGINT                                  NOT NULL,
     start_time TIMESTAMP                               NOT NULL,
     end_time   TIMESTAMP                               NOT NULL,
     item_id    BIGINT                                  NOT NULL,
@@ -46,7 +50,7 @@ CREATE TABLE IF NOT EXISTS bookings
 
 CREATE TABLE IF NOT EXISTS comments
 (
-    id        BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL,
+    id        BIGINT                                  NOT NULL,
     text      VARCHAR(512)                            NOT NULL,
     item_id   BIGINT                                  NOT NULL,
     author_id BIGINT                                  NOT NULL,
@@ -55,4 +59,3 @@ CREATE TABLE IF NOT EXISTS comments
     CONSTRAINT fk_comments_item_id FOREIGN KEY (item_id) REFERENCES items (id),
     CONSTRAINT fk_comments_author_id FOREIGN KEY (author_id) REFERENCES users (id)
 );
-
@@ -0,0 +1,15 @@
+CREATE SEQUENCE IF NOT EXISTS outbox_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS outbox
+(
+    id             BIGINT                                  NOT NULL,
+    aggregate_type VARCHAR(32)                             NOT NULL,
+    aggregate_id   BIGINT                                  NOT NULL,
+    event_type     VARCHAR(64)                             NOT NULL,
+    payload        VARCHAR(8192)                           NOT NULL,
+    created        TIMESTAMP                               NOT NULL,
+    published      TIMESTAMP,
+    CONSTRAINT pk_outbox PRIMARY KEY (id)
+);
+
+CREATE INDEX IF NOT EXISTS ix_outbox_published_id ON outbox (published, id);
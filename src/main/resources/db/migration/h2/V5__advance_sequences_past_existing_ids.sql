@@ -0,0 +1,10 @@
+ALTER SEQUENCE users_seq RESTART WITH GREATEST((SELECT COALESCE(MAX(id), 0) FROM users),
+    (SELECT BASE_VALUE FROM INFORMATION_SCHEMA.SEQUENCES WHERE SEQUENCE_NAME = 'USERS_SEQ')) + 50;
+ALTER SEQUENCE requests_seq RESTART WITH GREATEST((SELECT COALESCE(MAX(id), 0) FROM requests),
+    (SELECT BASE_VALUE FROM INFORMATION_SCHEMA.SEQUENCES WHERE SEQUENCE_NAME = 'REQUESTS_SEQ')) + 50;
+ALTER SEQUENCE items_seq RESTART WITH GREATEST((SELECT COALESCE(MAX(id), 0) FROM items),
+    (SELECT BASE_VALUE FROM INFORMATION_SCHEMA.SEQUENCES WHERE SEQUENCE_NAME = 'ITEMS_SEQ')) + 50;
+ALTER SEQUENCE bookings_seq RESTART WITH GREATEST((SELECT COALESCE(MAX(id), 0) FROM bookings),
+    (SELECT BASE_VALUE FROM INFORMATION_SCHEMA.SEQUENCES WHERE SEQUENCE_NAME = 'BOOKINGS_SEQ')) + 50;
+ALTER SEQUENCE comments_seq RESTART WITH GREATEST((SELECT COALESCE(MAX(id), 0) FROM comments),
+    (SELECT BASE_VALUE FROM INFORMATION_SCHEMA.SEQUENCES WHERE SEQUENCE_NAME = 'COMMENTS_SEQ')) + 50;
@@ -0,0 +1,10 @@
+CREATE INDEX CONCURRENTLY IF NOT EXISTS ix_requests_requester_created ON requests (requester_id, created DESC);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS ix_items_owner ON items (owner_id);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS ix_items_request ON items (request_id);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS ix_bookings_booker_start ON bookings (booker_id, start_time DESC);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS ix_bookings_booker_status_start ON bookings (booker_id, status, start_time DESC);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS ix_bookings_item_start ON bookings (item_id, start_time);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS ix_bookings_item_status_start ON bookings (item_id, status, start_time);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS ix_bookings_item_end ON bookings (item_id, end_time);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS ix_bookings_status_end ON bookings (status, end_time);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS ix_comments_item ON comments (item_id);
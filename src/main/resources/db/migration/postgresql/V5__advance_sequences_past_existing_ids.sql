@@ -0,0 +1,5 @@
+SELECT setval('users_seq', GREATEST((SELECT COALESCE(MAX(id), 0) FROM users), (SELECT last_value FROM users_seq)) + 50, false);
+SELECT setval('requests_seq', GREATEST((SELECT COALESCE(MAX(id), 0) FROM requests), (SELECT last_value FROM requests_seq)) + 50, false);
+SELECT setval('items_seq', GREATEST((SELECT COALESCE(MAX(id), 0) FROM items), (SELECT last_value FROM items_seq)) + 50, false);
+SELECT setval('bookings_seq', GREATEST((SELECT COALESCE(MAX(id), 0) FROM bookings), (SELECT last_value FROM bookings_seq)) + 50, false);
+SELECT setval('comments_seq', GREATEST((SELECT COALESCE(MAX(id), 0) FROM comments), (SELECT last_value FROM comments_seq)) + 50, false);
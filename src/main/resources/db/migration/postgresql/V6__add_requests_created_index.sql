@@ -0,0 +1 @@
+CREATE INDEX CONCURRENTLY IF NOT EXISTS ix_requests_created ON requests (created DESC, id DESC);
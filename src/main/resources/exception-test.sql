@@ -1,10 +1,14 @@
-insert into users (email, name)
-values ('user@yandex.ru', 'name'), ('user1@yandex.ru', 'name1'), ('user2@yandex.ru', 'name2');
+insert into users (id, email, name)
+values (1, 'user@yandex.ru', 'name'), (2, 'user1@yandex.ru', 'name1'), (3, 'user2@yandex.ru', 'name2');
 
-insert into items (name, description, available, owner_id)
-values ('item1', 'description1', true, 1), ('item2', 'description2', false, 1),
-       ('item3', 'description3', true, 1), ('item4', 'description4', true, 1),
-       ('item5', 'description5', true, 1);
+insert into items (id, name, description, available, owner_id)
+values (1, 'item1', 'description1', true, 1), (2, 'item2', 'description2', false, 1),
+       (3, 'item3', 'description3', true, 1), (4, 'item4', 'description4', true, 1),
+       (5, 'item5', 'description5', true, 1);
 
-insert into bookings (start_time, end_time, item_id, booker_id, status)
-values ('2020-01-17 23:15:42', '2020-01-17 23:15:43', 1, 2, 'APPROVED');
\ No newline at end of file
+insert into bookings (id, start_time, end_time, item_id, booker_id, status)
+values (1, '2020-01-17 23:15:42', '2020-01-17 23:15:43', 1, 2, 'APPROVED');
+
+ALTER SEQUENCE users_seq RESTART WITH 1000;
+ALTER SEQUENCE items_seq RESTART WITH 1000;
+ALTER SEQUENCE bookings_seq RESTART WITH 1000;
@@ -1,4 +1,6 @@
-insert into items (name, description, available, owner_id)
-values ('item1', 'description1', true, 1), ('item2', 'description2', false, 1),
-       ('item3', 'description3', true, 1), ('item4', 'description4', true, 1),
-       ('item5', 'description5', true, 1);
\ No newline at end of file
+insert into items (id, name, description, available, owner_id)
+values (1, 'item1', 'description1', true, 1), (2, 'item2', 'description2', false, 1),
+       (3, 'item3', 'description3', true, 1), (4, 'item4', 'description4', true, 1),
+       (5, 'item5', 'description5', true, 1);
+
+ALTER SEQUENCE items_seq RESTART WITH 1000;
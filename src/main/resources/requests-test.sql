@@ -0,0 +1,10 @@
+insert into requests (id, description, requester_id, created)
+values (1, 'need a drill', 2, '2022-01-01 10:00:00'), (2, 'need a tent', 3, '2022-01-02 10:00:00'),
+       (3, 'need a ladder', 2, '2022-01-03 10:00:00');
+
+insert into items (id, name, description, available, owner_id, request_id)
+values (6, 'drill', 'cordless drill', true, 3, 1), (7, 'hammer drill', 'heavy drill', true, 1, 1),
+       (8, 'ladder', 'folding ladder', false, 1, 3);
+
+ALTER SEQUENCE requests_seq RESTART WITH 1000;
+ALTER SEQUENCE items_seq RESTART WITH 1000;
@@ -1,2 +1,4 @@
 insert into users (id, email, name)
-values (1, 'user@yandex.ru', 'name'), (2, 'user1@yandex.ru', 'name1'), (3, 'user2@yandex.ru', 'name2');
\ No newline at end of file
+values (1, 'user@yandex.ru', 'name'), (2, 'user1@yandex.ru', 'name1'), (3, 'user2@yandex.ru', 'name2');
+
+ALTER SEQUENCE users_seq RESTART WITH 1000;
@@ -0,0 +1,72 @@
+package ru.practicum.shareit;
+
+import lombok.RequiredArgsConstructor;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.querycount.CountQueries;
+import ru.practicum.shareit.querycount.ExpectQueries;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@CountQueries
+@Sql(value = {"/reset.sql", "/user-item-test.sql", "/items-booking-test.sql", "/bookings-test.sql"})
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class EndpointQueryBudgetTest {
+    private final MockMvc mockMvc;
+
+    @SneakyThrows
+    @Test
+    @ExpectQueries(max = 4)
+    void getAllItems() {
+        mockMvc.perform(get("/items").header("X-Sharer-User-Id", 1L))
+                .andExpect(status().isOk());
+    }
+
+    @SneakyThrows
+    @Test
+    @ExpectQueries(max = 3)
+    void getItemByIdForOwner() {
+        mockMvc.perform(get("/items/{itemId}", 1L).header("X-Sharer-User-Id", 1L))
+                .andExpect(status().isOk());
+    }
+
+    @SneakyThrows
+    @Test
+    @ExpectQueries(max = 2)
+    void searchItems() {
+        mockMvc.perform(get("/items/search").param("text", "item"))
+                .andExpect(status().isOk());
+    }
+
+    @SneakyThrows
+    @Test
+    @ExpectQueries(max = 2)
+    void getAllBookerBookings() {
+        mockMvc.perform(get("/bookings").header("X-Sharer-User-Id", 2L))
+                .andExpect(status().isOk());
+    }
+
+    @SneakyThrows
+    @Test
+    @ExpectQueries(max = 2)
+    void getAllOwnerBookings() {
+        mockMvc.perform(get("/bookings/owner").header("X-Sharer-User-Id", 1L))
+                .andExpect(status().isOk());
+    }
+
+    @SneakyThrows
+    @Test
+    @ExpectQueries(max = 2)
+    void getAllRequests() {
+        mockMvc.perform(get("/requests/all").header("X-Sharer-User-Id", 1L))
+                .andExpect(status().isOk());
+    }
+}
@@ -0,0 +1,61 @@
+package ru.practicum.shareit;
+
+import org.assertj.core.api.Assertions;
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.configuration.FluentConfiguration;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+class FlywayMigrationTest {
+    private static final String URL = "jdbc:h2:mem:flyway-migration;DB_CLOSE_DELAY=-1";
+    private static final List<String> TABLES = List.of("users", "requests", "items", "bookings", "comments");
+
+    @Test
+    void adoptedDatabaseSequencesStartPastExistingIds() throws SQLException {
+        try (Connection connection = DriverManager.getConnection(URL, "sa", "");
+             Statement statement = connection.createStatement()) {
+            // A database created before Flyway: the tables and data are there, but there is no schema history and
+            // the sequences are missing.
+            flyway().target("4").load().migrate();
+            ScriptUtils.executeSqlScript(connection, new ClassPathResource("user-item-test.sql"));
+            ScriptUtils.executeSqlScript(connection, new ClassPathResource("items-booking-test.sql"));
+            ScriptUtils.executeSqlScript(connection, new ClassPathResource("requests-test.sql"));
+            ScriptUtils.executeSqlScript(connection, new ClassPathResource("bookings-test.sql"));
+            statement.execute("DROP TABLE \"flyway_schema_history\"");
+            for (String table : TABLES) {
+                statement.execute("DROP SEQUENCE " + table + "_seq");
+            }
+
+            flyway().load().migrate();
+
+            for (String table : TABLES) {
+                long maxId = queryLong(statement, "SELECT COALESCE(MAX(id), 0) FROM " + table);
+                long nextValue = queryLong(statement, "SELECT NEXT VALUE FOR " + table + "_seq");
+                Assertions.assertThat(nextValue - 50).as(table).isGreaterThanOrEqualTo(maxId);
+            }
+        }
+    }
+
+    private static FluentConfiguration flyway() {
+        return Flyway.configure()
+                .dataSource(URL, "sa", "")
+                .locations("classpath:db/migration/common", "classpath:db/migration/h2")
+                .baselineOnMigrate(true)
+                .baselineVersion("0");
+    }
+
+    private static long queryLong(Statement statement, String sql) throws SQLException {
+        try (ResultSet resultSet = statement.executeQuery(sql)) {
+            resultSet.next();
+            return resultSet.getLong(1);
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package ru.practicum.shareit;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=true",
+        "spring.jpa.properties.hibernate.cache.use_query_cache=true"
+})
+@AutoConfigureMockMvc
+@Sql(value = {"/reset.sql", "/user-item-test.sql"})
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class MetricsTest {
+    private final MockMvc mockMvc;
+    private final MeterRegistry meterRegistry;
+
+    @SneakyThrows
+    @Test
+    void endpointAndRepositoryCallsAreTimed() {
+        mockMvc.perform(get("/items").header("X-Sharer-User-Id", 1L))
+                .andExpect(status().isOk());
+
+        assertThat(meterRegistry.find("http.server.requests").tag("uri", "/items").timer())
+                .isNotNull()
+                .satisfies(timer -> assertThat(timer.count()).isPositive());
+        assertThat(meterRegistry.find("spring.data.repository.invocations")
+                .tag("repository", "ItemRepository").timers())
+                .isNotEmpty();
+    }
+
+    @Test
+    void cacheAndPoolMetricsAreRegistered() {
+        assertThat(meterRegistry.find("shareit.cache.gets").tag("cache", "user-existence").functionCounters())
+                .hasSize(2);
+        assertThat(meterRegistry.find("shareit.cache.size").tag("cache", "item-availability").gauge())
+                .isNotNull();
+        assertThat(meterRegistry.find("hikaricp.connections.active").gauge())
+                .isNotNull();
+    }
+
+    @Test
+    void secondLevelCacheMetricsAreRegistered() {
+        assertThat(meterRegistry.find("hibernate.second.level.cache.requests").tag("region", "users").functionCounters())
+                .isNotEmpty();
+    }
+}
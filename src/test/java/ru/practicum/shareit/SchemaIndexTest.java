@@ -0,0 +1,293 @@
+package ru.practicum.shareit;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.assertj.core.api.Assertions;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.item.repository.CommentRepository;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.outbox.repository.OutboxEventRepository;
+import ru.practicum.shareit.request.repository.ItemRequestRepository;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+@SpringBootTest
+@Import(SchemaIndexTest.StatementCaptureConfig.class)
+@Sql(value = {"/reset.sql", "/user-item-test.sql", "/items-booking-test.sql", "/bookings-test.sql", "/requests-test.sql",
+        "/index-volume-test.sql"})
+class SchemaIndexTest {
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 6, 1, 0, 0);
+    private static final Pageable PAGE = PageRequest.of(0, 10);
+    private static final List<CapturedStatement> CAPTURED = new ArrayList<>();
+
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private CommentRepository commentRepository;
+    @Autowired
+    private ItemRequestRepository itemRequestRepository;
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    // H2 does not weigh ORDER BY when indexes share a leading column, so where a foreign key's own index ties with
+    // the composite one the H2 expectation names the former; PostgreSQL must still pick the composite index.
+    // H2 also indexes every foreign key itself, so ix_items_owner and ix_comments_item duplicate those indexes there.
+    static Stream<Arguments> repositoryQueries() {
+        return Stream.of(
+                query("booker bookings", "FK_BOOKINGS_BOOKER_ID_INDEX_", "IX_BOOKINGS_BOOKER_START",
+                        test -> test.bookingRepository.findAllByBookerIdOrderByStartDescIdDesc(2L, PAGE)),
+                query("booker bookings by status", "IX_BOOKINGS_BOOKER_STATUS_START", "IX_BOOKINGS_BOOKER_STATUS_START",
+                        test -> test.bookingRepository.findAllByBookerIdAndStatusIsOrderByStartDescIdDesc(2L, BookingStatus.WAITING, PAGE)),
+                query("current booker bookings", "IX_BOOKINGS_BOOKER_START", "IX_BOOKINGS_BOOKER_START",
+                        test -> test.bookingRepository.findAllByBookerIdAndEndIsAfterAndStartIsBeforeOrderByStartDescIdDesc(2L, NOW, NOW, PAGE)),
+                query("past booker bookings", "FK_BOOKINGS_BOOKER_ID_INDEX_", "IX_BOOKINGS_BOOKER_START",
+                        test -> test.bookingRepository.findAllByBookerIdAndEndIsBeforeOrderByStartDescIdDesc(2L, NOW, PAGE)),
+                query("future booker bookings", "IX_BOOKINGS_BOOKER_START", "IX_BOOKINGS_BOOKER_START",
+                        test -> test.bookingRepository.findAllByBookerIdAndStartIsAfterOrderByStartDescIdDesc(2L, NOW, PAGE)),
+                query("waiting booker bookings", "IX_BOOKINGS_BOOKER_STATUS_START", "IX_BOOKINGS_BOOKER_STATUS_START",
+                        test -> test.bookingRepository.findAllByBookerIdAndStartIsAfterAndStatusIsOrderByStartDescIdDesc(
+                                2L, NOW, BookingStatus.WAITING, PAGE)),
+                query("booker bookings after cursor", "IX_BOOKINGS_BOOKER_START", "IX_BOOKINGS_BOOKER_START",
+                        test -> test.bookingRepository.getAllBookerBookingsAfter(2L, NOW, 10L, PAGE)),
+                query("booker bookings by status after cursor", "IX_BOOKINGS_BOOKER_STATUS_START", "IX_BOOKINGS_BOOKER_STATUS_START",
+                        test -> test.bookingRepository.getAllBookerBookingsByStatusAfter(2L, BookingStatus.WAITING, NOW, 10L, PAGE)),
+                query("waiting booker bookings after cursor", "IX_BOOKINGS_BOOKER_STATUS_START", "IX_BOOKINGS_BOOKER_STATUS_START",
+                        test -> test.bookingRepository.getAllWaitingBookerBookingsAfter(2L, NOW, BookingStatus.WAITING, NOW, 10L, PAGE)),
+                query("current booker bookings after cursor", "IX_BOOKINGS_BOOKER_START", "IX_BOOKINGS_BOOKER_START",
+                        test -> test.bookingRepository.getAllCurrentBookerBookingsAfter(2L, NOW, NOW, 10L, PAGE)),
+                query("past booker bookings after cursor", "IX_BOOKINGS_BOOKER_START", "IX_BOOKINGS_BOOKER_START",
+                        test -> test.bookingRepository.getAllPastBookerBookingsAfter(2L, NOW, NOW, 10L, PAGE)),
+                query("future booker bookings after cursor", "IX_BOOKINGS_BOOKER_START", "IX_BOOKINGS_BOOKER_START",
+                        test -> test.bookingRepository.getAllFutureBookerBookingsAfter(2L, NOW, NOW, 10L, PAGE)),
+                query("owner bookings", "FK_ITEMS_OWNER_ID_INDEX_", "IX_ITEMS_OWNER",
+                        test -> test.bookingRepository.getAllUsersItemsBookings(1L, PAGE)),
+                query("owner bookings by status", "FK_ITEMS_OWNER_ID_INDEX_", "IX_ITEMS_OWNER",
+                        test -> test.bookingRepository.getAllUsersItemsBookingsByStatus(1L, BookingStatus.REJECTED, PAGE)),
+                query("waiting owner bookings", "FK_ITEMS_OWNER_ID_INDEX_", "IX_ITEMS_OWNER",
+                        test -> test.bookingRepository.getAllWaitingUsersItemsBookings(1L, NOW, BookingStatus.WAITING, PAGE)),
+                query("current owner bookings", "FK_ITEMS_OWNER_ID_INDEX_", "IX_ITEMS_OWNER",
+                        test -> test.bookingRepository.getAllCurrentUsersItemsBookings(1L, NOW, PAGE)),
+                query("past owner bookings", "FK_ITEMS_OWNER_ID_INDEX_", "IX_ITEMS_OWNER",
+                        test -> test.bookingRepository.getAllPastUsersItemsBookings(1L, NOW, PAGE)),
+                query("future owner bookings", "FK_ITEMS_OWNER_ID_INDEX_", "IX_ITEMS_OWNER",
+                        test -> test.bookingRepository.getAllFutureUsersItemsBookings(1L, NOW, BookingStatus.WAITING, PAGE)),
+                query("owner bookings after cursor", "FK_ITEMS_OWNER_ID_INDEX_", "IX_ITEMS_OWNER",
+                        test -> test.bookingRepository.getAllUsersItemsBookingsAfter(1L, NOW, 10L, PAGE)),
+                query("waiting owner bookings after cursor", "FK_ITEMS_OWNER_ID_INDEX_", "IX_ITEMS_OWNER",
+                        test -> test.bookingRepository.getAllWaitingUsersItemsBookingsAfter(1L, NOW, BookingStatus.WAITING,
+                                NOW, 10L, PAGE)),
+                query("owner bookings by status after cursor", "FK_ITEMS_OWNER_ID_INDEX_", "IX_ITEMS_OWNER",
+                        test -> test.bookingRepository.getAllUsersItemsBookingsByStatusAfter(1L, BookingStatus.REJECTED,
+                                NOW, 10L, PAGE)),
+                query("current owner bookings after cursor", "FK_ITEMS_OWNER_ID_INDEX_", "IX_ITEMS_OWNER",
+                        test -> test.bookingRepository.getAllCurrentUsersItemsBookingsAfter(1L, NOW, NOW, 10L, PAGE)),
+                query("past owner bookings after cursor", "FK_ITEMS_OWNER_ID_INDEX_", "IX_ITEMS_OWNER",
+                        test -> test.bookingRepository.getAllPastUsersItemsBookingsAfter(1L, NOW, NOW, 10L, PAGE)),
+                query("future owner bookings after cursor", "FK_ITEMS_OWNER_ID_INDEX_", "IX_ITEMS_OWNER",
+                        test -> test.bookingRepository.getAllFutureUsersItemsBookingsAfter(1L, NOW, NOW, 10L, PAGE)),
+                query("last and next item bookings", "IX_BOOKINGS_ITEM_START", "IX_BOOKINGS_ITEM_START",
+                        test -> test.bookingRepository.getLastNextItemBookings(List.of(1L, 2L, 3L), NOW)),
+                query("item bookings in range", "IX_BOOKINGS_ITEM_START", "IX_BOOKINGS_ITEM_START",
+                        test -> test.bookingRepository.getItemBookingsInRange(1L,
+                                List.of(BookingStatus.WAITING, BookingStatus.APPROVED), NOW, NOW.plusDays(1))),
+                query("active bookings", "IX_BOOKINGS_STATUS_END", "IX_BOOKINGS_STATUS_END",
+                        test -> test.bookingRepository.findAllByStatusInAndEndIsAfter(
+                                List.of(BookingStatus.WAITING, BookingStatus.APPROVED), NOW, PAGE)),
+                query("past approved bookings of item by booker", "IX_BOOKINGS_ITEM_END", "IX_BOOKINGS_ITEM_END",
+                        test -> test.bookingRepository.findAllByItemAndBookerIdAndStatusIsAndEndIsBefore(
+                                test.itemRepository.getReferenceById(1L), 2L, BookingStatus.APPROVED, NOW)),
+                query("waiting bookings to expire", "IX_BOOKINGS_STATUS_END", "IX_BOOKINGS_STATUS_END",
+                        test -> test.bookingRepository.findAllByStatus(BookingStatus.WAITING, PAGE)),
+                query("waiting bookings locked for expiry", "PRIMARY_KEY_", "bookings_pkey",
+                        test -> test.inTransaction(() -> test.bookingRepository.findAllByIdInAndStatusIs(List.of(1L, 2L, 3L),
+                                BookingStatus.WAITING))),
+                query("booking locked for approval", "PRIMARY_KEY_", "bookings_pkey",
+                        test -> test.inTransaction(() -> test.bookingRepository.findByIdForUpdate(1L))),
+                query("owner items", "FK_ITEMS_OWNER_ID_INDEX_", "IX_ITEMS_OWNER",
+                        test -> test.itemRepository.getAllByOwnerId(1L, PAGE)),
+                query("item comments", "FK_COMMENTS_ITEM_ID_INDEX_", "IX_COMMENTS_ITEM",
+                        test -> test.commentRepository.findByItemIn(test.itemRepository.findAllById(List.of(1L, 2L)))),
+                query("comments of item", "FK_COMMENTS_ITEM_ID_INDEX_", "IX_COMMENTS_ITEM",
+                        test -> test.commentRepository.findAllByItemId(1L)),
+                query("requester feed", "FK_REQUESTS_REQUESTER_ID_INDEX_", "IX_REQUESTS_REQUESTER_CREATED",
+                        test -> test.itemRequestRepository.getRequesterFeed(2L)),
+                query("others feed", "IX_REQUESTS_CREATED", "IX_REQUESTS_CREATED",
+                        test -> test.itemRequestRepository.getOthersFeed(2L, 10, 0)),
+                query("unpublished outbox events", "IX_OUTBOX_PUBLISHED_ID", "IX_OUTBOX_PUBLISHED_ID",
+                        test -> test.outboxEventRepository.findAllByPublishedIsNullOrderByIdAsc(PAGE))
+        );
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("repositoryQueries")
+    void h2PlanUsesIndex(String name, String h2Index, String postgresIndex, Consumer<SchemaIndexTest> call) {
+        CapturedStatement statement = capture(call);
+        String plan = String.join("\n", jdbcTemplate.queryForList("EXPLAIN " + statement.sql, String.class,
+                statement.parameters.toArray()));
+
+        Assertions.assertThat(plan)
+                .doesNotContain("tableScan")
+                .contains("PUBLIC." + h2Index);
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("repositoryQueries")
+    @EnabledIfSystemProperty(named = "shareit.test.postgres.url", matches = ".+")
+    void postgresPlanUsesIndex(String name, String h2Index, String postgresIndex, Consumer<SchemaIndexTest> call)
+            throws SQLException {
+        CapturedStatement captured = capture(call);
+        String url = System.getProperty("shareit.test.postgres.url");
+        String username = System.getProperty("shareit.test.postgres.username");
+        String password = System.getProperty("shareit.test.postgres.password");
+        Flyway.configure()
+                .dataSource(url, username, password)
+                .locations("classpath:db/migration/common", "classpath:db/migration/postgresql")
+                .load()
+                .migrate();
+        try (Connection connection = DriverManager.getConnection(url, username, password);
+             Statement statement = connection.createStatement()) {
+            ScriptUtils.executeSqlScript(connection, new ClassPathResource("reset.sql"));
+            ScriptUtils.executeSqlScript(connection, new ClassPathResource("user-item-test.sql"));
+            ScriptUtils.executeSqlScript(connection, new ClassPathResource("items-booking-test.sql"));
+            ScriptUtils.executeSqlScript(connection, new ClassPathResource("bookings-test.sql"));
+            ScriptUtils.executeSqlScript(connection, new ClassPathResource("requests-test.sql"));
+            statement.execute("ANALYZE");
+            statement.execute("SET enable_seqscan = off");
+
+            StringBuilder plan = new StringBuilder();
+            try (PreparedStatement explain = connection.prepareStatement("EXPLAIN " + captured.sql)) {
+                for (int i = 0; i < captured.parameters.size(); i++) {
+                    explain.setObject(i + 1, captured.parameters.get(i));
+                }
+                try (ResultSet resultSet = explain.executeQuery()) {
+                    while (resultSet.next()) {
+                        plan.append(resultSet.getString(1)).append('\n');
+                    }
+                }
+            }
+
+            Assertions.assertThat(plan.toString())
+                    .doesNotContain("Seq Scan")
+                    .contains(postgresIndex.toLowerCase(Locale.ROOT));
+        }
+    }
+
+    private CapturedStatement capture(Consumer<SchemaIndexTest> call) {
+        synchronized (CAPTURED) {
+            CAPTURED.clear();
+        }
+        call.accept(this);
+        synchronized (CAPTURED) {
+            List<CapturedStatement> selects = CAPTURED.stream()
+                    .filter(statement -> statement.sql.trim().toLowerCase(Locale.ROOT).startsWith("select"))
+                    .collect(Collectors.toList());
+            Assertions.assertThat(selects).isNotEmpty();
+            return selects.get(selects.size() - 1);
+        }
+    }
+
+    private void inTransaction(Runnable call) {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> call.run());
+    }
+
+    private static Object parameterValue(ParameterSetOperation operation) {
+        return "setNull".equals(operation.getMethod().getName()) ? null : operation.getArgs()[1];
+    }
+
+    private static Arguments query(String name, String h2Index, String postgresIndex, Consumer<SchemaIndexTest> call) {
+        return Arguments.of(name, h2Index, postgresIndex, call);
+    }
+
+    private static final class CapturedStatement {
+        private final String sql;
+        private final List<Object> parameters;
+
+        private CapturedStatement(String sql, List<Object> parameters) {
+            this.sql = sql;
+            this.parameters = parameters;
+        }
+    }
+
+    @TestConfiguration
+    static class StatementCaptureConfig {
+        @Bean
+        static BeanPostProcessor statementCapturingDataSourcePostProcessor() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    if (bean instanceof DataSource && !(bean instanceof ProxyDataSource)) {
+                        return ProxyDataSourceBuilder.create((DataSource) bean)
+                                .name(beanName)
+                                .listener(new StatementCapturer())
+                                .build();
+                    }
+                    return bean;
+                }
+            };
+        }
+    }
+
+    private static final class StatementCapturer implements QueryExecutionListener {
+        @Override
+        public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        }
+
+        @Override
+        public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+            for (QueryInfo queryInfo : queryInfoList) {
+                List<Object> parameters = queryInfo.getParametersList().isEmpty() ? List.of()
+                        : queryInfo.getParametersList().get(0).stream()
+                        .sorted(Comparator.comparingInt(operation -> (Integer) operation.getArgs()[0]))
+                        .map(SchemaIndexTest::parameterValue)
+                        .collect(Collectors.toList());
+                synchronized (CAPTURED) {
+                    CAPTURED.add(new CapturedStatement(queryInfo.getQuery(), parameters));
+                }
+            }
+        }
+    }
+}
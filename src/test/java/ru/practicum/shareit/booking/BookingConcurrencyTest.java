@@ -0,0 +1,102 @@
+package ru.practicum.shareit.booking;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.jdbc.Sql;
+import ru.practicum.shareit.booking.dto.BookingInputDto;
+import ru.practicum.shareit.booking.interval.BookingIntervalIndex;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.exceptions.BookingOverlapException;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+@SpringBootTest
+@Sql(value = {"/reset.sql", "/user-item-test.sql", "/items-booking-test.sql"})
+class BookingConcurrencyTest {
+    private static final int THREADS = 16;
+    private static final int REQUESTS = 2000;
+    private static final long[] ITEM_IDS = {1L, 3L, 4L};
+
+    @Autowired
+    private BookingService bookingService;
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private BookingIntervalIndex bookingIntervals;
+
+    @BeforeEach
+    void resetIntervals() {
+        bookingIntervals.rebuild(consumer -> bookingRepository.findAll().forEach(consumer));
+    }
+
+    @Test
+    void addBooking_concurrentRequests_thenNoOverlappingBookings() throws InterruptedException {
+        LocalDateTime base = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.HOURS);
+        Random random = new Random(42);
+        List<BookingInputDto> requests = new ArrayList<>();
+        List<Long> bookers = new ArrayList<>();
+        for (int i = 0; i < REQUESTS; i++) {
+            LocalDateTime start = base.plusHours(random.nextInt(500));
+            LocalDateTime end = start.plusHours(1 + random.nextInt(48));
+            requests.add(new BookingInputDto(start, end, ITEM_IDS[random.nextInt(ITEM_IDS.length)]));
+            bookers.add(2L + random.nextInt(2));
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch ready = new CountDownLatch(1);
+        AtomicInteger created = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        ConcurrentLinkedQueue<Throwable> failures = new ConcurrentLinkedQueue<>();
+        for (int i = 0; i < REQUESTS; i++) {
+            BookingInputDto request = requests.get(i);
+            Long bookerId = bookers.get(i);
+            executor.submit(() -> {
+                try {
+                    ready.await();
+                    bookingService.addBooking(request, bookerId);
+                    created.incrementAndGet();
+                } catch (BookingOverlapException e) {
+                    rejected.incrementAndGet();
+                } catch (Throwable e) {
+                    failures.add(e);
+                }
+            });
+        }
+        ready.countDown();
+        executor.shutdown();
+        Assertions.assertThat(executor.awaitTermination(2, TimeUnit.MINUTES)).isTrue();
+
+        Assertions.assertThat(failures).isEmpty();
+        Assertions.assertThat(created.get() + rejected.get()).isEqualTo(REQUESTS);
+        Assertions.assertThat(created.get()).isPositive();
+
+        Map<Long, List<Booking>> bookingsByItem = bookingRepository.findAll().stream()
+                .collect(Collectors.groupingBy(booking -> booking.getItem().getId()));
+        Assertions.assertThat(bookingsByItem.values().stream().mapToInt(List::size).sum()).isEqualTo(created.get());
+        for (List<Booking> bookings : bookingsByItem.values()) {
+            bookings.sort(Comparator.comparing(Booking::getStart));
+            for (int i = 1; i < bookings.size(); i++) {
+                Assertions.assertThat(bookings.get(i).getStart())
+                        .isAfterOrEqualTo(bookings.get(i - 1).getEnd());
+            }
+        }
+    }
+}
@@ -18,6 +18,7 @@ import ru.practicum.shareit.user.dto.UserDto;
 
 import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.util.List;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
@@ -25,6 +26,7 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(controllers = BookingController.class)
@@ -74,6 +76,30 @@ class BookingControllerTest {
         verify(bookingService).getAllUsersItemsBookings(1L, BookingState.WAITING, 0, 10);
     }
 
+    @SneakyThrows
+    @Test
+    void getAllByBooker_fullPage_thenReturnNextCursor() {
+        long userId = 1L;
+        BookingOutputDto bookingDto = new BookingOutputDto(5L, LocalDateTime.of(2030, 1, 1, 12, 0), LocalDateTime.of(2030, 1, 2, 12, 0), new ItemDto(), new UserDto(1L, "name", "email@email.com"), BookingStatus.WAITING);
+        String nextCursor = new BookingCursor(bookingDto.getStart(), bookingDto.getId()).encode();
+
+        when(bookingService.getAllUsersBookings(userId, BookingState.ALL, 0, 1)).thenReturn(List.of(bookingDto));
+        mockMvc.perform(get("/bookings?size={size}", 1)
+                        .header("X-Sharer-User-Id", userId))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(header().string(BookingController.NEXT_CURSOR_HEADER, nextCursor));
+
+        mockMvc.perform(get("/bookings?size={size}&cursor={cursor}", 1, nextCursor)
+                        .header("X-Sharer-User-Id", userId))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(BookingController.NEXT_CURSOR_HEADER));
+
+        verify(bookingService).getAllUsersBookingsAfter(userId, BookingState.ALL, nextCursor, 1);
+        Assertions.assertEquals(new BookingCursor(bookingDto.getStart(), bookingDto.getId()), BookingCursor.decode(nextCursor));
+    }
+
     @SneakyThrows
     @Test
     void create_allCorrect_thenReturnOk() {
@@ -0,0 +1,158 @@
+package ru.practicum.shareit.booking;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import ru.practicum.shareit.booking.dto.BookingStatusEventDto;
+import ru.practicum.shareit.booking.stream.BookingEventHub;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Collectors;
+
+class BookingEventHubTest {
+    private final LinkedBlockingQueue<TestEmitter> emitters = new LinkedBlockingQueue<>();
+    private final List<TestEmitter> created = new CopyOnWriteArrayList<>();
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private BookingEventHub hub;
+
+    @AfterEach
+    void tearDown() {
+        created.forEach(emitter -> emitter.release.countDown());
+        hub.destroy();
+    }
+
+    @Test
+    void overflowDropsOldestFramesTest() throws InterruptedException {
+        hub = hub(2, Duration.ofMinutes(1), Duration.ofMinutes(1));
+        emitters.add(new TestEmitter(true));
+        TestEmitter emitter = subscribe(2L);
+        await(() -> emitter.sending);
+
+        for (long bookingId = 1; bookingId <= 5; bookingId++) {
+            hub.publish(event(bookingId), 2L, 1L);
+        }
+        Assertions.assertThat(registry.get("shareit.bookings.stream.dropped").functionCounter().count()).isEqualTo(3);
+
+        emitter.release.countDown();
+        await(() -> emitter.frames.size() == 3);
+        Assertions.assertThat(emitter.frames)
+                .containsExactly(":connected\n\n",
+                        "event:booking-status\nid:4:APPROVED\ndata:\n\n",
+                        "event:booking-status\nid:5:APPROVED\ndata:\n\n");
+    }
+
+    @Test
+    void heartbeatIsSentToIdleSubscribersTest() throws InterruptedException {
+        hub = hub(4, Duration.ofMillis(50), Duration.ofMinutes(1));
+        emitters.add(new TestEmitter(false));
+        TestEmitter emitter = subscribe(2L);
+
+        await(() -> emitter.frames.contains(":heartbeat\n\n"));
+        Assertions.assertThat(emitter.frames.peek()).isEqualTo(":connected\n\n");
+    }
+
+    @Test
+    void stalledSubscriberIsEvictedWithoutBlockingOthersTest() throws InterruptedException {
+        hub = hub(4, Duration.ofMillis(50), Duration.ofMillis(100));
+        emitters.add(new TestEmitter(true));
+        emitters.add(new TestEmitter(false));
+        TestEmitter stalled = subscribe(2L);
+        TestEmitter healthy = subscribe(3L);
+
+        await(() -> registry.get("shareit.bookings.stream.subscribers").gauge().value() == 1);
+        int heartbeats = heartbeats(healthy);
+        await(() -> heartbeats(healthy) > heartbeats + 1);
+        hub.publish(event(1L), 2L, 3L);
+        await(() -> healthy.frames.stream().anyMatch(frame -> frame.contains("id:1:APPROVED")));
+        Assertions.assertThat(stalled.error).isNull();
+
+        stalled.release.countDown();
+        await(() -> stalled.error != null);
+        Assertions.assertThat(stalled.frames).containsExactly(":connected\n\n");
+    }
+
+    private BookingEventHub hub(int bufferSize, Duration heartbeat, Duration writeTimeout) {
+        BookingEventHub eventHub = new BookingEventHub(bufferSize, heartbeat, Duration.ofMinutes(30), writeTimeout, 2) {
+            @Override
+            protected SseEmitter createEmitter() {
+                TestEmitter emitter = emitters.remove();
+                created.add(emitter);
+                return emitter;
+            }
+        };
+        eventHub.bindTo(registry);
+        return eventHub;
+    }
+
+    private TestEmitter subscribe(long userId) {
+        return (TestEmitter) hub.subscribe(userId);
+    }
+
+    private static int heartbeats(TestEmitter emitter) {
+        return (int) emitter.frames.stream().filter(":heartbeat\n\n"::equals).count();
+    }
+
+    private static BookingStatusEventDto event(long bookingId) {
+        LocalDateTime start = LocalDateTime.of(2030, 1, 1, 12, 0);
+        return new BookingStatusEventDto(bookingId, 1L, BookingStatus.APPROVED, start, start.plusDays(1));
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!condition.getAsBoolean() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        Assertions.assertThat(condition.getAsBoolean()).isTrue();
+    }
+
+    /**
+     * Records frames instead of writing them. A blocking emitter holds its lock in send() until released,
+     * the way a real emitter does while the client stops reading.
+     */
+    private static class TestEmitter extends SseEmitter {
+        private final ConcurrentLinkedQueue<String> frames = new ConcurrentLinkedQueue<>();
+        private final CountDownLatch release = new CountDownLatch(1);
+        private final boolean blocking;
+        private volatile boolean sending;
+        private volatile Throwable error;
+
+        private TestEmitter(boolean blocking) {
+            this.blocking = blocking;
+        }
+
+        @Override
+        public synchronized void send(SseEventBuilder builder) throws IOException {
+            sending = true;
+            if (blocking) {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IOException(e);
+                }
+            }
+            frames.add(builder.build().stream()
+                    .map(part -> part.getData() instanceof String ? (String) part.getData() : "")
+                    .collect(Collectors.joining()));
+        }
+
+        @Override
+        public synchronized void completeWithError(Throwable ex) {
+            error = ex;
+        }
+
+        @Override
+        public synchronized void complete() {
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package ru.practicum.shareit.booking;
+
+import lombok.RequiredArgsConstructor;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.booking.dto.BookingOutputDto;
+import ru.practicum.shareit.booking.expiry.BookingExpiryQueue;
+import ru.practicum.shareit.booking.expiry.BookingExpiryWorker;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.exceptions.ItemIsBookedException;
+import ru.practicum.shareit.outbox.OutboxEventType;
+import ru.practicum.shareit.outbox.model.OutboxEvent;
+import ru.practicum.shareit.outbox.repository.OutboxEventRepository;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest
+@Sql(value = {"/reset.sql", "/user-item-test.sql", "/items-booking-test.sql", "/bookings-test.sql"})
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class BookingExpiryTest {
+    private final BookingService bookingService;
+    private final OutboxEventRepository outboxEventRepository;
+    private final PlatformTransactionManager transactionManager;
+
+    @Test
+    void expireBookings_onlyWaitingAreExpiredTest() {
+        Assertions.assertThat(bookingService.expireBookings(List.of(1L, 2L, 3L))).isEqualTo(1);
+
+        Assertions.assertThat(bookingService.getAllUsersBookings(2L, BookingState.EXPIRED, 0, 10))
+                .extracting(BookingOutputDto::getId, BookingOutputDto::getStatus)
+                .containsExactly(Assertions.tuple(1L, BookingStatus.EXPIRED));
+        Assertions.assertThat(bookingService.getAllUsersItemsBookings(1L, BookingState.EXPIRED, 0, 10))
+                .extracting(BookingOutputDto::getId)
+                .containsExactly(1L);
+        Assertions.assertThat(outboxEventRepository.findAll())
+                .extracting(OutboxEvent::getEventType, OutboxEvent::getAggregateId)
+                .containsExactly(Assertions.tuple(OutboxEventType.BOOKING_EXPIRED, 1L));
+        assertThrows(ItemIsBookedException.class, () -> bookingService.editBooking(1L, 1L, true));
+        Assertions.assertThat(bookingService.expireBookings(List.of(1L))).isZero();
+    }
+
+    @Test
+    void editBooking_waitsForConcurrentExpiryTest() throws InterruptedException {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<BookingOutputDto> approval = new TransactionTemplate(transactionManager).execute(status -> {
+                Assertions.assertThat(bookingService.expireBookings(List.of(1L))).isEqualTo(1);
+                Future<BookingOutputDto> pending = executor.submit(() -> bookingService.editBooking(1L, 1L, true));
+                assertThrows(TimeoutException.class, () -> pending.get(300, TimeUnit.MILLISECONDS));
+                return pending;
+            });
+
+            ExecutionException exception = assertThrows(ExecutionException.class, () -> approval.get(5, TimeUnit.SECONDS));
+            Assertions.assertThat(exception.getCause()).isInstanceOf(ItemIsBookedException.class);
+            Assertions.assertThat(bookingService.getAllUsersBookings(2L, BookingState.EXPIRED, 0, 10))
+                    .extracting(BookingOutputDto::getId)
+                    .containsExactly(1L);
+        } finally {
+            executor.shutdownNow();
+            executor.awaitTermination(5, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    void worker_expiresDueBookingsTest() {
+        BookingService service = mock(BookingService.class);
+        BookingRepository repository = mock(BookingRepository.class);
+        when(repository.findAllByStatus(eq(BookingStatus.WAITING), any()))
+                .thenReturn(new SliceImpl<>(List.of(booking(7L, LocalDateTime.now().minusMinutes(1)))));
+        BookingExpiryQueue queue = new BookingExpiryQueue(true, Duration.ZERO);
+        BookingExpiryWorker worker = new BookingExpiryWorker(queue, service, repository, 10);
+        try {
+            worker.start();
+            queue.schedule(booking(8L, LocalDateTime.now().plusNanos(200_000_000)));
+            queue.schedule(booking(9L, LocalDateTime.now().plusDays(1)));
+
+            verify(service, timeout(2000)).expireBookings(List.of(7L));
+            verify(service, timeout(2000)).expireBookings(List.of(8L));
+            Assertions.assertThat(queue.size()).isEqualTo(1);
+        } finally {
+            worker.destroy();
+        }
+    }
+
+    @Test
+    void queue_ttlShortensDeadlineTest() throws InterruptedException {
+        BookingExpiryQueue queue = new BookingExpiryQueue(true, Duration.ofMillis(100));
+        Booking booking = booking(5L, LocalDateTime.now().plusDays(1));
+        booking.setCreated(LocalDateTime.now());
+        queue.schedule(booking);
+
+        Assertions.assertThat(queue.takeExpired(10)).containsExactly(5L);
+    }
+
+    private static Booking booking(Long id, LocalDateTime start) {
+        Booking booking = new Booking();
+        booking.setId(id);
+        booking.setStart(start);
+        booking.setEnd(start.plusDays(1));
+        booking.setStatus(BookingStatus.WAITING);
+        return booking;
+    }
+}
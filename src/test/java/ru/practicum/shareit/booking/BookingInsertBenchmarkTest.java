@@ -0,0 +1,79 @@
+package ru.practicum.shareit.booking;
+
+import lombok.extern.slf4j.Slf4j;
+import org.assertj.core.api.Assertions;
+import org.hibernate.Session;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.model.User;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+@Slf4j
+@SpringBootTest
+@EnabledIfSystemProperty(named = "shareit.benchmark", matches = "true")
+@Sql(value = {"/reset.sql", "/user-item-test.sql", "/items-booking-test.sql"})
+class BookingInsertBenchmarkTest {
+    private static final int ROWS = 20_000;
+    private static final int FLUSH_EVERY = 1_000;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Test
+    void insertBookings_unbatchedVersusBatched() {
+        insertBookings(1);
+        insertBookings(50);
+        bookingRepository.deleteAllInBatch();
+
+        long unbatched = insertBookings(1);
+        long batched = insertBookings(50);
+
+        log.info("Inserted {} bookings: {} rows/s with batch size 1, {} rows/s with batch size 50",
+                ROWS, rowsPerSecond(unbatched), rowsPerSecond(batched));
+        Assertions.assertThat(bookingRepository.count()).isEqualTo(2L * ROWS);
+    }
+
+    private long insertBookings(int batchSize) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        Long elapsed = transaction.execute(status -> {
+            entityManager.unwrap(Session.class).setJdbcBatchSize(batchSize);
+            LocalDateTime start = LocalDateTime.now().plusYears(1);
+            long started = System.nanoTime();
+            for (int i = 0; i < ROWS; i++) {
+                Booking booking = new Booking(start.plusHours(i), start.plusHours(i).plusMinutes(30));
+                booking.setItem(entityManager.getReference(Item.class, 1L));
+                booking.setBooker(entityManager.getReference(User.class, 2L));
+                booking.setStatus(BookingStatus.WAITING);
+                entityManager.persist(booking);
+                if ((i + 1) % FLUSH_EVERY == 0) {
+                    entityManager.flush();
+                    entityManager.clear();
+                }
+            }
+            entityManager.flush();
+            entityManager.clear();
+            return System.nanoTime() - started;
+        });
+        return elapsed == null ? 0 : elapsed;
+    }
+
+    private static long rowsPerSecond(long elapsedNanos) {
+        return ROWS * TimeUnit.SECONDS.toNanos(1) / Math.max(elapsedNanos, 1);
+    }
+}
@@ -0,0 +1,77 @@
+package ru.practicum.shareit.booking;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.booking.interval.BookingIntervalIndex;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.item.model.Item;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+class BookingIntervalIndexTest {
+    private static final LocalDateTime START = LocalDateTime.of(2030, 1, 1, 0, 0);
+
+    private final BookingIntervalIndex intervalIndex = new BookingIntervalIndex();
+
+    @Test
+    void overlapsTest() {
+        intervalIndex.add(booking(1L, 1L, 10, 20));
+        intervalIndex.add(booking(2L, 1L, 30, 40));
+        intervalIndex.add(booking(3L, 2L, 0, 100));
+
+        Assertions.assertThat(intervalIndex.overlaps(1L, START.plusHours(15), START.plusHours(16))).isTrue();
+        Assertions.assertThat(intervalIndex.overlaps(1L, START.plusHours(5), START.plusHours(35))).isTrue();
+        Assertions.assertThat(intervalIndex.overlaps(1L, START.plusHours(20), START.plusHours(30))).isFalse();
+        Assertions.assertThat(intervalIndex.overlaps(1L, START.plusHours(0), START.plusHours(10))).isFalse();
+        Assertions.assertThat(intervalIndex.overlaps(3L, START.plusHours(15), START.plusHours(16))).isFalse();
+    }
+
+    @Test
+    void longIntervalBeforeShortOnesTest() {
+        intervalIndex.add(booking(1L, 1L, 0, 100));
+        intervalIndex.add(booking(2L, 1L, 10, 11));
+
+        Assertions.assertThat(intervalIndex.overlaps(1L, START.plusHours(50), START.plusHours(60))).isTrue();
+    }
+
+    @Test
+    void removeTest() {
+        intervalIndex.add(booking(1L, 1L, 10, 20));
+        intervalIndex.remove(1L);
+
+        Assertions.assertThat(intervalIndex.overlaps(1L, START.plusHours(15), START.plusHours(16))).isFalse();
+    }
+
+    @Test
+    void removeEndedBeforeTest() {
+        intervalIndex.add(booking(1L, 1L, 10, 20));
+        intervalIndex.add(booking(2L, 1L, 30, 40));
+        intervalIndex.add(booking(3L, 2L, 0, 5));
+        intervalIndex.removeEndedBefore(START.plusHours(20));
+
+        Assertions.assertThat(intervalIndex.overlaps(1L, START.plusHours(15), START.plusHours(16))).isFalse();
+        Assertions.assertThat(intervalIndex.overlaps(1L, START.plusHours(35), START.plusHours(36))).isTrue();
+        Assertions.assertThat(intervalIndex.overlaps(2L, START.plusHours(1), START.plusHours(2))).isFalse();
+    }
+
+    @Test
+    void rebuildTest() {
+        intervalIndex.add(booking(1L, 1L, 10, 20));
+        Assertions.assertThat(intervalIndex.isReady()).isFalse();
+        intervalIndex.rebuild(consumer -> List.of(booking(2L, 1L, 30, 40)).forEach(consumer));
+        Assertions.assertThat(intervalIndex.isReady()).isTrue();
+
+        Assertions.assertThat(intervalIndex.overlaps(1L, START.plusHours(15), START.plusHours(16))).isFalse();
+        Assertions.assertThat(intervalIndex.overlaps(1L, START.plusHours(35), START.plusHours(36))).isTrue();
+    }
+
+    private Booking booking(long bookingId, long itemId, int startHour, int endHour) {
+        Item item = new Item();
+        item.setId(itemId);
+        Booking booking = new Booking(START.plusHours(startHour), START.plusHours(endHour));
+        booking.setId(bookingId);
+        booking.setItem(item);
+        return booking;
+    }
+}
@@ -1,23 +1,34 @@
 package ru.practicum.shareit.booking;
 
 import org.assertj.core.api.Assertions;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.test.context.jdbc.Sql;
+import ru.practicum.shareit.booking.dto.BookingMapper;
+import ru.practicum.shareit.booking.dto.BookingOutputDto;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.querycount.CountQueries;
+import ru.practicum.shareit.querycount.ExpectQueries;
 
 import java.time.LocalDateTime;
 import java.util.List;
 
 @DataJpaTest
-@Sql(value = {"/schema.sql", "/user-item-test.sql", "/items-booking-test.sql", "/bookings-test.sql"})
+@CountQueries
+@ExpectQueries(max = 1)
+@Sql(value = {"/reset.sql", "/user-item-test.sql", "/items-booking-test.sql", "/bookings-test.sql"})
 class BookingRepositoryTest {
     @Autowired
     private BookingRepository bookingRepository;
+    @Autowired
+    private TestEntityManager entityManager;
     private final int from = 0;
     private final int size = 10;
     private final long bookerId = 2L;
@@ -28,7 +39,7 @@ class BookingRepositoryTest {
 
     @Test
     void findAllByBookerTest() {
-        List<Booking> bookings = bookingRepository.findAllByBookerIdOrderByStartDesc(bookerId, pageable);
+        List<Booking> bookings = bookingRepository.findAllByBookerIdOrderByStartDescIdDesc(bookerId, pageable);
         Assertions.assertThat(bookings).hasSize(3);
     }
 
@@ -39,4 +50,43 @@ class BookingRepositoryTest {
         Assertions.assertThat(bookings).isEmpty();
     }
 
-}
\ No newline at end of file
+    @Test
+    void getLastNextItemBookingsTest() {
+        LocalDateTime now = LocalDateTime.of(2021, 1, 1, 0, 0);
+        List<Booking> bookings = bookingRepository.getLastNextItemBookings(List.of(1L, 2L, 3L), now);
+        Assertions.assertThat(bookings)
+                .hasSize(2)
+                .map(Booking::getId)
+                .containsExactlyInAnyOrder(1L, 2L);
+    }
+
+    @Test
+    void getAllBookerBookingsAfterTest() {
+        LocalDateTime cursorStart = LocalDateTime.of(2024, 1, 17, 23, 15, 42);
+        List<Booking> bookings = bookingRepository.getAllBookerBookingsAfter(bookerId, cursorStart, 3L, pageable);
+        Assertions.assertThat(bookings)
+                .map(Booking::getId)
+                .containsExactly(1L, 2L);
+    }
+
+    @Test
+    @ExpectQueries(max = 2)
+    void bookingPagesMappedWithSingleSelectTest() {
+        Statistics statistics = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+        entityManager.clear();
+        statistics.clear();
+
+        List<BookingOutputDto> bookerPage = BookingMapper.toBookingOutputDtoList(
+                bookingRepository.findAllByBookerIdOrderByStartDescIdDesc(bookerId, pageable));
+        Assertions.assertThat(bookerPage).hasSize(3);
+        Assertions.assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+
+        entityManager.clear();
+        statistics.clear();
+        List<BookingOutputDto> ownerPage = BookingMapper.toBookingOutputDtoList(
+                bookingRepository.getAllUsersItemsBookings(1L, pageable));
+        Assertions.assertThat(ownerPage).hasSize(3);
+        Assertions.assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,78 @@
+package ru.practicum.shareit.booking;
+
+import lombok.RequiredArgsConstructor;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.jdbc.Sql;
+import ru.practicum.shareit.booking.dto.BookingBatchResponseDto;
+import ru.practicum.shareit.booking.dto.BookingBatchResultDto;
+import ru.practicum.shareit.booking.dto.BookingInputDto;
+import ru.practicum.shareit.booking.interval.BookingIntervalIndex;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.exceptions.BookingOverlapException;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest
+@Sql(value = {"/reset.sql", "/user-item-test.sql", "/items-booking-test.sql"})
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class BookingServiceTest {
+    private final BookingService bookingService;
+    private final BookingRepository bookingRepository;
+    private final BookingIntervalIndex bookingIntervals;
+
+    @BeforeEach
+    void resetIntervals() {
+        bookingIntervals.rebuild(consumer -> bookingRepository.findAll().forEach(consumer));
+    }
+
+    @Test
+    void addBookings_partialFailure_thenReportPerEntry() {
+        LocalDateTime start = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.HOURS);
+        List<BookingInputDto> batch = Arrays.asList(
+                new BookingInputDto(start, start.plusHours(2), 1L),
+                new BookingInputDto(start.plusHours(1), start.plusHours(3), 1L),
+                new BookingInputDto(start, start.plusHours(2), 2L),
+                new BookingInputDto(start, start.plusHours(2), 99L),
+                new BookingInputDto(start.plusHours(2), start, 3L),
+                null,
+                new BookingInputDto(start.plusHours(2), start.plusHours(4), 1L));
+
+        BookingBatchResponseDto response = bookingService.addBookings(batch, 2L);
+
+        Assertions.assertThat(response.getCreated()).isEqualTo(2);
+        Assertions.assertThat(response.getFailed()).isEqualTo(5);
+        Assertions.assertThat(response.getResults())
+                .map(BookingBatchResultDto::getIndex)
+                .containsExactly(0, 1, 2, 3, 4, 5, 6);
+        Assertions.assertThat(response.getResults())
+                .map(result -> result.getBooking() != null)
+                .containsExactly(true, false, false, false, false, false, true);
+        Assertions.assertThat(bookingRepository.findAll()).hasSize(2);
+        Assertions.assertThat(bookingIntervals.overlaps(1L, start, start.plusHours(1))).isTrue();
+    }
+
+    @Test
+    void addBooking_whileIndexRebuilds_thenOverlapCheckedInDatabase() {
+        LocalDateTime start = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.HOURS);
+        bookingService.addBooking(new BookingInputDto(start, start.plusHours(2), 1L), 2L);
+
+        bookingIntervals.rebuild(consumer -> {
+            Assertions.assertThat(bookingIntervals.isReady()).isFalse();
+            assertThrows(BookingOverlapException.class,
+                    () -> bookingService.addBooking(new BookingInputDto(start.plusHours(1), start.plusHours(3), 1L), 3L));
+        });
+
+        Assertions.assertThat(bookingIntervals.isReady()).isTrue();
+        Assertions.assertThat(bookingRepository.findAll()).hasSize(1);
+    }
+}
@@ -0,0 +1,75 @@
+package ru.practicum.shareit.booking;
+
+import lombok.RequiredArgsConstructor;
+import lombok.SneakyThrows;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.util.StringUtils;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@Sql(value = {"/reset.sql", "/user-item-test.sql", "/items-booking-test.sql", "/bookings-test.sql"})
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class BookingStreamTest {
+    private final MockMvc mockMvc;
+
+    @SneakyThrows
+    @Test
+    void bookerAndOwnerReceiveStatusChangeTest() {
+        MvcResult bookerStream = subscribe(2L);
+        MvcResult ownerStream = subscribe(1L);
+        MvcResult otherStream = subscribe(3L);
+
+        mockMvc.perform(patch("/bookings/{bookingId}", 1L)
+                        .header("X-Sharer-User-Id", 1L)
+                        .param("approved", "true"))
+                .andExpect(status().isOk());
+
+        awaitContent(bookerStream, "\"status\":\"APPROVED\"");
+        awaitContent(ownerStream, "\"status\":\"APPROVED\"");
+        Assertions.assertThat(StringUtils.countOccurrencesOf(bookerStream.getResponse().getContentAsString(),
+                "event:booking-status")).isEqualTo(1);
+        Assertions.assertThat(ownerStream.getResponse().getContentAsString())
+                .isEqualTo(bookerStream.getResponse().getContentAsString());
+        Assertions.assertThat(otherStream.getResponse().getContentAsString()).doesNotContain("booking-status");
+    }
+
+    @SneakyThrows
+    @Test
+    void unknownUserCannotSubscribeTest() {
+        mockMvc.perform(get("/bookings/stream").header("X-Sharer-User-Id", 99L))
+                .andExpect(status().isNotFound());
+    }
+
+    @SneakyThrows
+    private MvcResult subscribe(long userId) {
+        return mockMvc.perform(get("/bookings/stream")
+                        .header("X-Sharer-User-Id", userId)
+                        .accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+    }
+
+    @SneakyThrows
+    private static void awaitContent(MvcResult result, String expected) {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!result.getResponse().getContentAsString().contains(expected) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        Assertions.assertThat(result.getResponse().getContentAsString())
+                .contains("event:booking-status")
+                .contains(expected);
+    }
+}
@@ -23,7 +23,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 
 @SpringBootTest
 @RequiredArgsConstructor(onConstructor_ = @Autowired)
-@Sql(value = {"/schema.sql", "/exception-test.sql"})
+@Sql(value = {"/reset.sql", "/exception-test.sql"})
 public class ErrorResponseTest {
     private MockMvc mockMvc;
     private final ObjectMapper objectMapper;
@@ -9,6 +9,8 @@ import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.user.model.User;
 
 import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 class CommentMapperTest {
@@ -41,6 +43,28 @@ class CommentMapperTest {
                         .hasFieldOrPropertyWithValue("authorName", "userName"));
     }
 
+    @Test
+    void toDtoMapByItemIdTest() {
+        Comment first = fillEntity();
+        Comment second = fillEntity();
+        second.setId(2L);
+        Item otherItem = new Item();
+        otherItem.setId(2L);
+        Comment third = fillEntity();
+        third.setId(3L);
+        third.setItem(otherItem);
+
+        Map<Long, List<CommentDto>> comments = CommentMapper.toDtoMapByItemId(List.of(first, second, third));
+
+        Assertions.assertThat(comments).containsOnlyKeys(1L, 2L);
+        Assertions.assertThat(comments.get(1L))
+                .map(CommentDto::getId)
+                .containsExactly(1L, 2L);
+        Assertions.assertThat(comments.get(2L))
+                .map(CommentDto::getId)
+                .containsExactly(3L);
+    }
+
     private Comment fillEntity() {
         Item item = new Item();
         item.setId(1L);
@@ -0,0 +1,63 @@
+package ru.practicum.shareit.item;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.item.availability.ItemAvailabilityCalendar;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDto;
+import ru.practicum.shareit.item.dto.TimeIntervalDto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ItemAvailabilityCalendarTest {
+    private final LocalDateTime day = LocalDateTime.of(2030, 1, 1, 0, 0);
+    private final BookingRepository bookingRepository = mock(BookingRepository.class);
+    private final ItemAvailabilityCalendar calendar = new ItemAvailabilityCalendar(bookingRepository, 10);
+
+    @Test
+    void getAvailability_thenMergeBusyAndReturnGaps() {
+        when(bookingRepository.getItemBookingsInRange(eq(1L), anyCollection(), any(), any())).thenReturn(List.of(
+                booking(0, 4), booking(2, 6), booking(6, 8), booking(10, 12), booking(20, 30)));
+
+        ItemAvailabilityDto availability = calendar.getAvailability(1L, day.plusHours(1), day.plusHours(24));
+
+        Assertions.assertThat(availability.getBusy()).containsExactly(
+                interval(1, 8), interval(10, 12), interval(20, 24));
+        Assertions.assertThat(availability.getFree()).containsExactly(
+                interval(8, 10), interval(12, 20));
+    }
+
+    @Test
+    void getAvailability_cachedUntilInvalidated() {
+        when(bookingRepository.getItemBookingsInRange(eq(1L), anyCollection(), any(), any()))
+                .thenReturn(List.of(booking(2, 4)));
+
+        calendar.getAvailability(1L, day, day.plusHours(24));
+        ItemAvailabilityDto narrowed = calendar.getAvailability(1L, day.plusHours(3), day.plusHours(5));
+        verify(bookingRepository, times(1)).getItemBookingsInRange(eq(1L), anyCollection(), any(), any());
+        Assertions.assertThat(narrowed.getBusy()).containsExactly(interval(3, 4));
+        Assertions.assertThat(narrowed.getFree()).containsExactly(interval(4, 5));
+
+        calendar.invalidate(1L);
+        calendar.getAvailability(1L, day, day.plusHours(24));
+        verify(bookingRepository, times(2)).getItemBookingsInRange(eq(1L), anyCollection(), any(), any());
+    }
+
+    private Booking booking(int startHour, int endHour) {
+        return new Booking(day.plusHours(startHour), day.plusHours(endHour));
+    }
+
+    private TimeIntervalDto interval(int startHour, int endHour) {
+        return new TimeIntervalDto(day.plusHours(startHour), day.plusHours(endHour));
+    }
+}
@@ -87,7 +87,18 @@ class ItemControllerTest {
                 .andDo(MockMvcResultHandlers.print())
                 .andExpect(MockMvcResultMatchers.status().isOk());
 
-        Mockito.verify(itemService).searchItems(text, 0, 10);
+        Mockito.verify(itemService).searchItems(text, 0, 10, ItemSearchSort.ID);
+    }
+
+    @SneakyThrows
+    @Test
+    void getAllByText_sortByRelevance_thenReturnOk() {
+        String text = "java forever";
+        mockMvc.perform(MockMvcRequestBuilders.get("/items/search?text={text}&sort=relevance", text))
+                .andDo(MockMvcResultHandlers.print())
+                .andExpect(MockMvcResultMatchers.status().isOk());
+
+        Mockito.verify(itemService).searchItems(text, 0, 10, ItemSearchSort.RELEVANCE);
     }
 
     @SneakyThrows
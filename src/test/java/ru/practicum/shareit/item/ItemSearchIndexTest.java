@@ -0,0 +1,105 @@
+package ru.practicum.shareit.item;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.search.ItemSearchIndex;
+
+import java.util.List;
+import java.util.Map;
+
+class ItemSearchIndexTest {
+    private final ItemSearchIndex searchIndex = new ItemSearchIndex(4, true);
+
+    @BeforeEach
+    void setUp() {
+        searchIndex.rebuild(consumer -> List.of(
+                new Item(1L, "Дрель", "Дрель аккумуляторная", true),
+                new Item(2L, "Отвертка", "Отвертка аккумуляторная", true),
+                new Item(3L, "Стол", "Деревянный стол", true)
+        ).forEach(consumer::test), Map.of());
+    }
+
+    @Test
+    void searchBySubstringTest() {
+        Assertions.assertThat(searchIndex.searchAvailable("дрел")).containsExactly(1L);
+        Assertions.assertThat(searchIndex.searchAvailable("ККУМУЛ")).containsExactly(1L, 2L);
+        Assertions.assertThat(searchIndex.searchAvailable("дрель аккум")).containsExactly(1L);
+        Assertions.assertThat(searchIndex.searchAvailable("ол")).containsExactly(3L);
+        Assertions.assertThat(searchIndex.searchAvailable("шкаф")).isEmpty();
+    }
+
+    @Test
+    void searchSkipsUnavailableItemsTest() {
+        searchIndex.index(new Item(1L, "Дрель", "Дрель аккумуляторная", false));
+
+        Assertions.assertThat(searchIndex.searchAvailable("дрель")).isEmpty();
+
+        searchIndex.index(new Item(1L, "Дрель", "Дрель аккумуляторная", true));
+
+        Assertions.assertThat(searchIndex.searchAvailable("дрель")).containsExactly(1L);
+    }
+
+    @Test
+    void reindexReplacesOldTextTest() {
+        searchIndex.index(new Item(1L, "Перфоратор", "Перфоратор сетевой", true));
+
+        Assertions.assertThat(searchIndex.searchAvailable("дрель")).isEmpty();
+        Assertions.assertThat(searchIndex.searchAvailable("сетев")).containsExactly(1L);
+    }
+
+    @Test
+    void searchByRelevanceTest() {
+        searchIndex.index(new Item(4L, "Аккумулятор", "Аккумулятор для шуруповерта", true));
+
+        Assertions.assertThat(searchIndex.searchAvailableByRelevance("аккумулятор", 0, 10)).containsExactly(4L, 1L, 2L);
+        Assertions.assertThat(searchIndex.searchAvailableByRelevance("аккумулятор", 1, 1)).containsExactly(1L);
+        Assertions.assertThat(searchIndex.searchAvailableByRelevance("аккумулятор", 3, 10)).isEmpty();
+
+        searchIndex.addComment(2L);
+
+        Assertions.assertThat(searchIndex.searchAvailableByRelevance("аккумулятор", 0, 10)).containsExactly(4L, 2L, 1L);
+    }
+
+    @Test
+    void indexOverCapacityIsNotReadyTest() {
+        searchIndex.index(new Item(4L, "Шкаф", "Платяной шкаф", true));
+
+        Assertions.assertThat(searchIndex.isReady()).isTrue();
+
+        searchIndex.index(new Item(5L, "Комод", "Комод с ящиками", true));
+
+        Assertions.assertThat(searchIndex.isReady()).isFalse();
+    }
+
+    @Test
+    void rebuildAfterOverflowRestoresIndexTest() {
+        searchIndex.index(new Item(4L, "Шкаф", "Платяной шкаф", true));
+        searchIndex.index(new Item(5L, "Комод", "Комод с ящиками", true));
+        searchIndex.rebuild(consumer -> List.of(
+                new Item(1L, "Дрель", "Дрель аккумуляторная", true),
+                new Item(5L, "Комод", "Комод с ящиками", true)
+        ).forEach(consumer::test), Map.of());
+
+        Assertions.assertThat(searchIndex.isReady()).isTrue();
+        Assertions.assertThat(searchIndex.searchAvailable("ко")).containsExactly(5L);
+        Assertions.assertThat(searchIndex.searchAvailable("д")).containsExactly(1L, 5L);
+    }
+
+    @Test
+    void rebuildStopsReadingItemsOnOverflowTest() {
+        int[] read = {0};
+        searchIndex.rebuild(consumer -> {
+            for (long id = 1; id <= 100; id++) {
+                read[0]++;
+                if (!consumer.test(new Item(id, "Стул " + id, "Стул", true))) {
+                    return;
+                }
+            }
+        }, Map.of());
+
+        Assertions.assertThat(read[0]).isEqualTo(5);
+        Assertions.assertThat(searchIndex.isReady()).isFalse();
+    }
+}
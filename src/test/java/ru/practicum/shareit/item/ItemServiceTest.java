@@ -15,6 +15,8 @@ import ru.practicum.shareit.exceptions.ItemNotFoundException;
 import ru.practicum.shareit.exceptions.NotOwnerException;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.querycount.CountQueries;
+import ru.practicum.shareit.querycount.ExpectQueries;
 
 import java.util.List;
 import java.util.Optional;
@@ -23,6 +25,7 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
 
 @RunWith(SpringRunner.class)
 @SpringBootTest
+@CountQueries
 @TestMethodOrder(MethodOrderer.OrderAnnotation.class)
 @RequiredArgsConstructor(onConstructor_ = @Autowired)
 class ItemServiceTest {
@@ -30,7 +33,7 @@ class ItemServiceTest {
 
     @Test
     @Order(0)
-    @Sql(value = {"/schema.sql", "/user-item-test.sql"})
+    @Sql(value = {"/reset.sql", "/user-item-test.sql"})
     void createTest() {
         ItemDto itemCreateDto = new ItemDto();
         itemCreateDto.setName("item");
@@ -127,12 +130,14 @@ class ItemServiceTest {
 
     @Test
     @Order(6)
+    @ExpectQueries(max = 1)
     void getByWrongIdTest() {
         assertThrows(ItemNotFoundException.class, () -> itemService.getItemById(100L, 1L));
     }
 
     @Test
     @Order(7)
+    @ExpectQueries(max = 3)
     void getByIdForOwnerTest() {
         Optional<ItemDto> itemDto = Optional.of(itemService.getItemById(1L, 1L));
 
@@ -151,6 +156,7 @@ class ItemServiceTest {
 
     @Test
     @Order(8)
+    @ExpectQueries(max = 2)
     void getByIdNotForOwnerTest() {
         Optional<ItemDto> itemDto = Optional.of(itemService.getItemById(1L, 3L));
 
@@ -168,8 +174,9 @@ class ItemServiceTest {
 
     @Test
     @Order(9)
+    @ExpectQueries(max = 2)
     void getAllByTextTest() {
-        List<ItemDto> items = itemService.searchItems("item", 0, 10);
+        List<ItemDto> items = itemService.searchItems("item", 0, 10, ItemSearchSort.ID);
 
         Assertions.assertThat(items)
                 .hasSize(1);
@@ -0,0 +1,78 @@
+package ru.practicum.shareit.outbox;
+
+import lombok.RequiredArgsConstructor;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.jdbc.Sql;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.exceptions.BookingNotFoundException;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.outbox.dto.OutboxEventDto;
+import ru.practicum.shareit.outbox.model.OutboxEvent;
+import ru.practicum.shareit.outbox.repository.OutboxEventRepository;
+import ru.practicum.shareit.outbox.service.OutboxRelay;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest
+@Sql(value = {"/reset.sql", "/user-item-test.sql", "/items-booking-test.sql", "/bookings-test.sql"})
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class OutboxRelayTest {
+    private final ItemService itemService;
+    private final BookingService bookingService;
+    private final OutboxEventRepository outboxEventRepository;
+
+    @Test
+    void changesAreRelayedInOrderTest() {
+        ItemDto itemDto = new ItemDto();
+        itemDto.setName("drill");
+        itemDto.setDescription("cordless drill");
+        itemDto.setAvailable(true);
+        ItemDto created = itemService.addItem(itemDto, 1L);
+        bookingService.editBooking(1L, 1L, true);
+        itemDto.setName("hammer drill");
+        itemService.editItem(itemDto, created.getId(), 1L);
+
+        List<OutboxEventDto> relayed = new ArrayList<>();
+        new OutboxRelay(outboxEventRepository, List.of(relayed::addAll), 2, Duration.ofDays(7)).relay();
+
+        Assertions.assertThat(relayed)
+                .extracting(OutboxEventDto::getEventType, OutboxEventDto::getAggregateId)
+                .containsExactly(
+                        Assertions.tuple(OutboxEventType.ITEM_CREATED, created.getId()),
+                        Assertions.tuple(OutboxEventType.BOOKING_APPROVED, 1L),
+                        Assertions.tuple(OutboxEventType.ITEM_UPDATED, created.getId()));
+        Assertions.assertThat(relayed.get(2).getPayload()).contains("\"name\":\"hammer drill\"");
+        Assertions.assertThat(outboxEventRepository.findAll())
+                .allSatisfy(event -> Assertions.assertThat(event.getPublished()).isNotNull());
+    }
+
+    @Test
+    void failedChangeLeavesNoEventTest() {
+        assertThrows(BookingNotFoundException.class, () -> bookingService.editBooking(1L, 100L, true));
+
+        Assertions.assertThat(outboxEventRepository.findAll()).isEmpty();
+    }
+
+    @Test
+    void failedSinkKeepsEventsForRetryTest() {
+        bookingService.editBooking(1L, 1L, false);
+
+        new OutboxRelay(outboxEventRepository, List.of(events -> {
+            throw new IllegalStateException("sink is down");
+        }), 10, Duration.ofDays(7)).relay();
+
+        Assertions.assertThat(outboxEventRepository.findAllByPublishedIsNullOrderByIdAsc(
+                        PageRequest.of(0, 10)))
+                .extracting(OutboxEvent::getEventType)
+                .containsExactly(OutboxEventType.BOOKING_REJECTED);
+    }
+}
@@ -0,0 +1,16 @@
+package ru.practicum.shareit.querycount;
+
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.context.annotation.Import;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@Import(QueryCountConfig.class)
+@ExtendWith(QueryCountExtension.class)
+public @interface CountQueries {
+}
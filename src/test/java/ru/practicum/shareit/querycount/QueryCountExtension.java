@@ -0,0 +1,28 @@
+package ru.practicum.shareit.querycount;
+
+import org.junit.jupiter.api.extension.AfterTestExecutionCallback;
+import org.junit.jupiter.api.extension.BeforeTestExecutionCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.platform.commons.support.AnnotationSupport;
+
+import java.util.List;
+import java.util.Optional;
+
+public class QueryCountExtension implements BeforeTestExecutionCallback, AfterTestExecutionCallback {
+    @Override
+    public void beforeTestExecution(ExtensionContext context) {
+        QueryCounter.reset();
+    }
+
+    @Override
+    public void afterTestExecution(ExtensionContext context) {
+        Optional<ExpectQueries> expected = AnnotationSupport.findAnnotation(context.getRequiredTestMethod(), ExpectQueries.class)
+                .or(() -> AnnotationSupport.findAnnotation(context.getRequiredTestClass(), ExpectQueries.class));
+        List<String> statements = QueryCounter.statements();
+        QueryCounter.reset();
+        if (expected.isPresent() && statements.size() > expected.get().max()) {
+            throw new AssertionError("Expected at most " + expected.get().max() + " statements but "
+                    + statements.size() + " were executed:\n" + String.join("\n", statements));
+        }
+    }
+}
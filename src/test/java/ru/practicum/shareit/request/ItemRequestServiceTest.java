@@ -0,0 +1,83 @@
+package ru.practicum.shareit.request;
+
+import lombok.RequiredArgsConstructor;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.jdbc.Sql;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.search.ItemSearchIndexLoader;
+import ru.practicum.shareit.querycount.CountQueries;
+import ru.practicum.shareit.querycount.ExpectQueries;
+import ru.practicum.shareit.request.dto.ItemRequestDto;
+import ru.practicum.shareit.request.service.ItemRequestService;
+
+import java.util.List;
+
+@SpringBootTest
+@CountQueries
+@Sql(value = {"/reset.sql", "/user-item-test.sql", "/requests-test.sql"})
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class ItemRequestServiceTest {
+    private final ItemRequestService itemRequestService;
+    private final ItemSearchIndexLoader searchIndexLoader;
+
+    @Test
+    @ExpectQueries(max = 2)
+    void getAllRequestsTest() {
+        List<ItemRequestDto> requests = itemRequestService.getAllRequests(1L, 0, 10);
+
+        Assertions.assertThat(requests)
+                .extracting(ItemRequestDto::getId)
+                .containsExactly(3L, 2L, 1L);
+        Assertions.assertThat(requests.get(0).getItems())
+                .extracting(ItemDto::getId)
+                .containsExactly(8L);
+        Assertions.assertThat(requests.get(1).getItems()).isEmpty();
+        Assertions.assertThat(requests.get(2).getItems())
+                .extracting(ItemDto::getId, ItemDto::getRequestId)
+                .containsExactlyInAnyOrder(Assertions.tuple(6L, 1L), Assertions.tuple(7L, 1L));
+    }
+
+    @Test
+    void createRequest_existingItemsAreSuggestedTest() {
+        searchIndexLoader.rebuildIndex();
+
+        ItemRequestDto created = itemRequestService.createRequest(
+                new ItemRequestDto(null, "looking for a cordless drill", null, null), 2L);
+
+        Assertions.assertThat(itemRequestService.getSuggestions(created.getId(), 2L))
+                .extracting(ItemDto::getId)
+                .startsWith(6L)
+                .doesNotContain(8L);
+    }
+
+    @Test
+    void getAllRequestsPageKeepsAllItemsTest() {
+        List<ItemRequestDto> requests = itemRequestService.getAllRequests(1L, 2, 2);
+
+        Assertions.assertThat(requests)
+                .extracting(ItemRequestDto::getId)
+                .containsExactly(1L);
+        Assertions.assertThat(requests.get(0).getItems()).hasSize(2);
+    }
+
+    @Test
+    void getAllRequestsExcludesOwnRequestsTest() {
+        Assertions.assertThat(itemRequestService.getAllRequests(2L, 0, 10))
+                .extracting(ItemRequestDto::getId)
+                .containsExactly(2L);
+    }
+
+    @Test
+    @ExpectQueries(max = 2)
+    void getAllUserRequestsTest() {
+        List<ItemRequestDto> requests = itemRequestService.getAllUserRequests(2L);
+
+        Assertions.assertThat(requests)
+                .extracting(ItemRequestDto::getId)
+                .containsExactly(3L, 1L);
+        Assertions.assertThat(requests.get(1).getItems()).hasSize(2);
+    }
+}
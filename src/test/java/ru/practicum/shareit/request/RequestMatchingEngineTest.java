@@ -0,0 +1,108 @@
+package ru.practicum.shareit.request;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.matching.RequestMatchingEngine;
+import ru.practicum.shareit.request.matching.RequestSuggestion;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+
+class RequestMatchingEngineTest {
+    private static final User REQUESTER = new User(1L, "requester", "requester@mail.ru");
+    private static final User OWNER = new User(2L, "owner", "owner@mail.ru");
+
+    private final RequestMatchingEngine engine = new RequestMatchingEngine(2, 2, 100, 100, 0.3);
+
+    @BeforeEach
+    void setUp() {
+        engine.indexRequest(request(1L, "Нужна аккумуляторная дрель"));
+        engine.indexRequest(request(2L, "Ищу деревянный стол"));
+    }
+
+    @Test
+    void newItemIsSuggestedToMatchingRequestTest() {
+        engine.matchItem(item(10L, "Дрель", "Дрель аккумуляторная", true, OWNER));
+
+        Assertions.assertThat(engine.getSuggestions(1L))
+                .extracting(RequestSuggestion::getItemId)
+                .containsExactly(10L);
+        Assertions.assertThat(engine.getSuggestions(2L)).isEmpty();
+    }
+
+    @Test
+    void existingItemsAreSuggestedToNewRequestTest() {
+        Item drill = item(10L, "Дрель", "Дрель аккумуляторная", true, OWNER);
+        Item table = item(11L, "Стол", "Деревянный стол", true, OWNER);
+        Item ownDrill = item(12L, "Дрель", "Дрель аккумуляторная", true, REQUESTER);
+        engine.removeRequest(1L);
+        engine.matchItem(drill);
+
+        engine.indexRequest(request(1L, "Нужна аккумуляторная дрель"));
+        engine.matchRequest(1L, List.of(drill, table, ownDrill));
+
+        Assertions.assertThat(engine.getSuggestions(1L))
+                .extracting(RequestSuggestion::getItemId)
+                .containsExactly(10L);
+
+        engine.matchItem(item(10L, "Стол", "Деревянный стол", true, OWNER));
+
+        Assertions.assertThat(engine.getSuggestions(1L)).isEmpty();
+    }
+
+    @Test
+    void suggestionsAreRankedAndBoundedTest() {
+        engine.matchItem(item(10L, "Дрель", "Дрель сетевая", true, OWNER));
+        engine.matchItem(item(11L, "Дрель", "Дрель аккумуляторная", true, OWNER));
+        engine.matchItem(item(12L, "Дрель", "Ударная дрель", true, OWNER));
+
+        Assertions.assertThat(engine.getSuggestions(1L))
+                .extracting(RequestSuggestion::getItemId)
+                .containsExactly(11L, 10L);
+    }
+
+    @Test
+    void editedOrUnavailableItemIsWithdrawnTest() {
+        engine.matchItem(item(10L, "Дрель", "Дрель аккумуляторная", true, OWNER));
+        engine.matchItem(item(10L, "Стол", "Деревянный стол", true, OWNER));
+
+        Assertions.assertThat(engine.getSuggestions(1L)).isEmpty();
+        Assertions.assertThat(engine.getSuggestions(2L))
+                .extracting(RequestSuggestion::getItemId)
+                .containsExactly(10L);
+
+        engine.matchItem(item(10L, "Стол", "Деревянный стол", false, OWNER));
+
+        Assertions.assertThat(engine.getSuggestions(2L)).isEmpty();
+    }
+
+    @Test
+    void requesterOwnItemsAreNotSuggestedTest() {
+        engine.matchItem(item(10L, "Дрель", "Дрель аккумуляторная", true, REQUESTER));
+
+        Assertions.assertThat(engine.getSuggestions(1L)).isEmpty();
+    }
+
+    @Test
+    void oldestRequestIsEvictedTest() {
+        engine.indexRequest(request(3L, "Нужна палатка"));
+        engine.matchItem(item(10L, "Дрель", "Дрель аккумуляторная", true, OWNER));
+
+        Assertions.assertThat(engine.getSuggestions(1L)).isEmpty();
+    }
+
+    private static ItemRequest request(long id, String description) {
+        return new ItemRequest(id, description, REQUESTER, LocalDateTime.now(), new HashSet<>());
+    }
+
+    private static Item item(long id, String name, String description, boolean available, User owner) {
+        Item item = new Item(id, name, description, available);
+        item.setOwner(owner);
+        return item;
+    }
+}
@@ -0,0 +1,65 @@
+package ru.practicum.shareit.user;
+
+import lombok.RequiredArgsConstructor;
+import org.assertj.core.api.Assertions;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.jdbc.Sql;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.user.service.UserService;
+
+import javax.persistence.EntityManagerFactory;
+
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=true",
+        "spring.jpa.properties.hibernate.cache.use_query_cache=true"
+})
+@Sql(value = {"/reset.sql", "/user-item-test.sql"})
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class UserCacheTest {
+    private final UserService userService;
+    private final UserRepository userRepository;
+    private final EntityManagerFactory entityManagerFactory;
+    private Statistics statistics;
+
+    @BeforeEach
+    void resetCaches() {
+        SessionFactory sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        sessionFactory.getCache().evictAllRegions();
+        statistics = sessionFactory.getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void getUserById_repeated_thenServedFromCache() {
+        userService.getUserById(1L);
+        userService.getUserById(1L);
+
+        Assertions.assertThat(statistics.getDomainDataRegionStatistics("users").getHitCount()).isEqualTo(1);
+        Assertions.assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void editUser_thenCachedUserUpdated() {
+        userService.getUserById(2L);
+        userService.editUser(new User(null, "renamed", null), 2L);
+
+        Assertions.assertThat(userService.getUserById(2L).getName()).isEqualTo("renamed");
+    }
+
+    @Test
+    void existsById_repeated_thenServedFromQueryCacheUntilUsersChange() {
+        Assertions.assertThat(userRepository.existsById(3L)).isTrue();
+        Assertions.assertThat(userRepository.existsById(3L)).isTrue();
+        Assertions.assertThat(statistics.getQueryCacheHitCount()).isEqualTo(1);
+
+        userService.deleteUser(3L);
+
+        Assertions.assertThat(userRepository.existsById(3L)).isFalse();
+    }
+}
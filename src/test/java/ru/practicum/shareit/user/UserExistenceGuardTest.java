@@ -0,0 +1,45 @@
+package ru.practicum.shareit.user;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.user.service.UserExistenceGuard;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class UserExistenceGuardTest {
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final UserExistenceGuard userGuard = new UserExistenceGuard(userRepository);
+
+    @Test
+    void exists_knownUser_thenNoDatabaseCall() {
+        userGuard.added(70L);
+
+        Assertions.assertThat(userGuard.exists(70L)).isTrue();
+        verify(userRepository, never()).existsById(70L);
+    }
+
+    @Test
+    void exists_unknownUser_thenCheckDatabaseOnceAndRemember() {
+        when(userRepository.existsById(5L)).thenReturn(true);
+
+        Assertions.assertThat(userGuard.exists(5L)).isTrue();
+        Assertions.assertThat(userGuard.exists(5L)).isTrue();
+        verify(userRepository, times(1)).existsById(5L);
+    }
+
+    @Test
+    void exists_removedUser_thenCheckDatabase() {
+        userGuard.added(1L);
+        userGuard.added(2L);
+        userGuard.removed(1L);
+
+        Assertions.assertThat(userGuard.exists(1L)).isFalse();
+        Assertions.assertThat(userGuard.exists(2L)).isTrue();
+        verify(userRepository).existsById(1L);
+    }
+}
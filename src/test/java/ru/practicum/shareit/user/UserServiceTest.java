@@ -30,7 +30,7 @@ class UserServiceTest {
 
     @Test
     @Order(0)
-    @Sql(value = {"/schema.sql"})
+    @Sql(value = {"/reset.sql"})
     void createTest() {
         User userCreate = new User(1L, "user", "email@email.com");
 
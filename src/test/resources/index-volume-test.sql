@@ -0,0 +1,23 @@
+INSERT INTO users (id, name, email)
+SELECT X, 'user' || X, 'user' || X || '@volume.test' FROM SYSTEM_RANGE(100000, 100199);
+
+INSERT INTO requests (id, description, requester_id, created)
+SELECT X, 'request' || X, 100000 + MOD(X, 200), DATEADD('HOUR', X - 100000, TIMESTAMP '2022-01-01 00:00:00')
+FROM SYSTEM_RANGE(100000, 101999);
+
+INSERT INTO items (id, name, description, available, owner_id, request_id)
+SELECT X, 'item' || X, 'description' || X, TRUE, 100000 + MOD(X, 200),
+       CASE WHEN MOD(X, 4) = 0 THEN 100000 + MOD(X, 2000) END
+FROM SYSTEM_RANGE(100000, 103999);
+
+INSERT INTO bookings (id, start_time, end_time, item_id, booker_id, status)
+SELECT X, DATEADD('HOUR', X - 100000, TIMESTAMP '2023-01-01 00:00:00'), DATEADD('HOUR', X - 99998, TIMESTAMP '2023-01-01 00:00:00'),
+       100000 + MOD(X, 4000), 100000 + MOD(X * 7, 200),
+       CASE MOD(X, 4) WHEN 0 THEN 'WAITING' WHEN 1 THEN 'APPROVED' WHEN 2 THEN 'REJECTED' ELSE 'CANCELED' END
+FROM SYSTEM_RANGE(100000, 119999);
+
+INSERT INTO comments (id, text, item_id, author_id, created)
+SELECT X, 'comment' || X, 100000 + MOD(X, 4000), 100000 + MOD(X, 200), DATEADD('HOUR', X - 100000, TIMESTAMP '2023-01-01 00:00:00')
+FROM SYSTEM_RANGE(100000, 107999);
+
+ANALYZE;
@@ -0,0 +1,12 @@
+DELETE FROM outbox;
+DELETE FROM comments;
+DELETE FROM bookings;
+DELETE FROM items;
+DELETE FROM requests;
+DELETE FROM users;
+
+ALTER SEQUENCE users_seq RESTART WITH 1;
+ALTER SEQUENCE requests_seq RESTART WITH 1;
+ALTER SEQUENCE items_seq RESTART WITH 1;
+ALTER SEQUENCE bookings_seq RESTART WITH 1;
+ALTER SEQUENCE comments_seq RESTART WITH 1;